@@ -0,0 +1,173 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+import performance.LatencyRecorder;
+import performance.LatencySummary;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, in-flight gauge and byte totals of one endpoint and HTTP method
+ * Updates are lock-free; latencies live in the registry's LatencyRecorder, one series per status class
+ * ("GET walletBalanceEndPoint 2xx"), so fast error responses never mix with successful calls
+ */
+public class EndpointMetrics implements EndpointMetricsMXBean {
+    public static final String SUCCESS = "2xx";
+
+    private final String method;
+    private final String endpoint;
+    private final LatencyRecorder latencies;
+    private final LongAdder requests = new LongAdder();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final Map<String, LongAdder> latencyNanosByClass = new ConcurrentHashMap<>();
+
+    EndpointMetrics(String method, String endpoint, LatencyRecorder latencies) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.latencies = latencies;
+    }
+
+    // 200 -> "2xx", 404 -> "4xx"
+    public static String statusClass(int status) {
+        return status / 100 + "xx";
+    }
+
+    void started(long requestBytes) {
+        requests.increment();
+        inFlight.incrementAndGet();
+        bytesSent.add(requestBytes);
+    }
+
+    void completed(long latencyNanos, int status, long responseBytes) {
+        inFlight.decrementAndGet();
+        statusCounts.computeIfAbsent(status, code -> new LongAdder()).increment();
+        bytesReceived.add(responseBytes);
+        String statusClass = statusClass(status);
+        latencyNanosByClass.computeIfAbsent(statusClass, key -> new LongAdder()).add(latencyNanos);
+        latencies.record(seriesOf(statusClass), latencyNanos);
+    }
+
+    // No response at all: connection refused, timeout, ...
+    void failed() {
+        inFlight.decrementAndGet();
+        errors.increment();
+    }
+
+    // "GET walletBalanceEndPoint"
+    public String getId() {
+        return method + " " + endpoint;
+    }
+
+    // Latency series name of the status class in the registry's LatencyRecorder
+    public String seriesOf(String statusClass) {
+        return getId() + " " + statusClass;
+    }
+
+    // Latencies of successful (2xx) responses
+    public LatencySummary latencySummary() {
+        return latencies.summary(seriesOf(SUCCESS));
+    }
+
+    // Copy of the status class's latency distribution in microseconds
+    public Histogram histogram(String statusClass) {
+        return latencies.histogram(seriesOf(statusClass));
+    }
+
+    // Status classes that have latencies, in order
+    public Set<String> statusClasses() {
+        return new TreeSet<>(latencyNanosByClass.keySet());
+    }
+
+    public long getLatencyNanosSum(String statusClass) {
+        LongAdder sum = latencyNanosByClass.get(statusClass);
+        return sum == null ? 0 : sum.sum();
+    }
+
+    public long getCompleted() {
+        return statusCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public Map<String, Long> getStatusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        statusCounts().forEach((status, count) -> counts.put(String.valueOf(status), count));
+        return counts;
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long successful = histogram(SUCCESS).getTotalCount();
+        return successful == 0 ? 0 : getLatencyNanosSum(SUCCESS) / 1_000_000.0 / successful;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latencySummary().getP50();
+    }
+
+    @Override
+    public double getP90Millis() {
+        return latencySummary().getP90();
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latencySummary().getP99();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latencySummary().getMax();
+    }
+}
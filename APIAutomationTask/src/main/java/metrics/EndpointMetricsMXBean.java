@@ -0,0 +1,36 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of one endpoint's metrics, registered as GoldenScent:type=Endpoint,method=&lt;method&gt;,name=&lt;endpoint key&gt;
+ * Latencies are in milliseconds over the successful (2xx) calls made since the start of the run
+ */
+public interface EndpointMetricsMXBean {
+
+    String getMethod();
+
+    String getEndpoint();
+
+    long getRequests();
+
+    long getInFlight();
+
+    long getErrors();
+
+    Map<String, Long> getStatusCounts();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
@@ -0,0 +1,161 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+import performance.LatencyRecorder;
+import utils.ConfigurationManager;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-endpoint request metrics of every call made through the framework
+ * Endpoints are keyed by HTTP method and config.properties key (e.g. GET walletBalanceEndPoint), falling back to the path;
+ * latencies are kept per status class. Each endpoint is registered as an MXBean on first use, and the whole registry
+ * can be written in Prometheus text format
+ */
+public class MetricsRegistry {
+    public static final String JMX_DOMAIN = "GoldenScent";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry(true);
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final LatencyRecorder latencies = new LatencyRecorder();
+    private final boolean registerMBeans;
+
+    public MetricsRegistry(boolean registerMBeans) {
+        this.registerMBeans = registerMBeans;
+    }
+
+    // Registry fed by the request filters and transports, exported at the end of the run
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public static String endpointKey(String path) {
+        String key = ConfigurationManager.current().getEndpointKey(path);
+        return key == null ? path : key;
+    }
+
+    /**
+     * Counts a request about to be sent; returns the start time to pass to completed or failed
+     */
+    public long started(String method, String endpoint, long requestBytes) {
+        endpoint(method, endpoint).started(requestBytes);
+        return System.nanoTime();
+    }
+
+    public void completed(String method, String endpoint, long startNanos, int status, long responseBytes) {
+        endpoint(method, endpoint).completed(System.nanoTime() - startNanos, status, responseBytes);
+    }
+
+    public void failed(String method, String endpoint) {
+        endpoint(method, endpoint).failed();
+    }
+
+    public EndpointMetrics endpoint(String method, String endpoint) {
+        String id = method.toUpperCase(Locale.ROOT) + " " + endpoint;
+        EndpointMetrics metrics = endpoints.get(id);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(id, key -> create(method.toUpperCase(Locale.ROOT), endpoint));
+    }
+
+    // By endpoint id, e.g. "GET walletBalanceEndPoint"
+    public Map<String, EndpointMetrics> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    private EndpointMetrics create(String method, String endpoint) {
+        EndpointMetrics metrics = new EndpointMetrics(method, endpoint, latencies);
+        if (registerMBeans) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Endpoint,method=" + method + ",name=" + ObjectName.quote(endpoint));
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(metrics, name);
+                }
+            } catch (JMException e) {
+                System.err.println("Unable to register metrics MBean for " + endpoint + ": " + e.getMessage());
+            }
+        }
+        return metrics;
+    }
+
+    public void writePrometheus(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, toPrometheusText(), StandardCharsets.UTF_8);
+            // Scrapers reading the file never see it half written
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write metrics to " + file, e);
+        }
+    }
+
+    /**
+     * Prometheus text exposition format 0.0.4; latencies are a summary in seconds per status class
+     */
+    public String toPrometheusText() {
+        Map<String, EndpointMetrics> snapshot = endpoints();
+        StringBuilder out = new StringBuilder();
+        family(out, snapshot, "api_requests_total", "counter", "Requests sent", (metrics, lines) ->
+                sample(lines, "api_requests_total", metrics, null, metrics.getRequests()));
+        family(out, snapshot, "api_responses_total", "counter", "Responses received by status code", (metrics, lines) ->
+                metrics.statusCounts().forEach((status, count) ->
+                        sample(lines, "api_responses_total", metrics, "status=\"" + status + "\"", count)));
+        family(out, snapshot, "api_request_errors_total", "counter", "Requests that got no response", (metrics, lines) ->
+                sample(lines, "api_request_errors_total", metrics, null, metrics.getErrors()));
+        family(out, snapshot, "api_requests_in_flight", "gauge", "Requests awaiting a response", (metrics, lines) ->
+                sample(lines, "api_requests_in_flight", metrics, null, metrics.getInFlight()));
+        family(out, snapshot, "api_request_bytes_total", "counter", "Request body bytes sent", (metrics, lines) ->
+                sample(lines, "api_request_bytes_total", metrics, null, metrics.getBytesSent()));
+        family(out, snapshot, "api_response_bytes_total", "counter", "Response body bytes received", (metrics, lines) ->
+                sample(lines, "api_response_bytes_total", metrics, null, metrics.getBytesReceived()));
+        family(out, snapshot, "api_request_duration_seconds", "summary", "Request latency up to the last response byte", (metrics, lines) -> {
+            for (String statusClass : metrics.statusClasses()) {
+                Histogram histogram = metrics.histogram(statusClass);
+                String label = "status_class=\"" + statusClass + "\"";
+                for (double quantile : QUANTILES) {
+                    sample(lines, "api_request_duration_seconds", metrics, label + ",quantile=\"" + quantile + "\"",
+                            histogram.getValueAtPercentile(quantile * 100) / 1_000_000.0);
+                }
+                sample(lines, "api_request_duration_seconds_sum", metrics, label, metrics.getLatencyNanosSum(statusClass) / 1_000_000_000.0);
+                sample(lines, "api_request_duration_seconds_count", metrics, label, histogram.getTotalCount());
+            }
+        });
+        return out.toString();
+    }
+
+    private static void family(StringBuilder out, Map<String, EndpointMetrics> endpoints, String name, String type, String help,
+                               BiConsumer<EndpointMetrics, StringBuilder> samples) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        endpoints.values().forEach(metrics -> samples.accept(metrics, out));
+    }
+
+    private static void sample(StringBuilder out, String name, EndpointMetrics metrics, String extraLabel, Number value) {
+        out.append(name).append("{method=\"").append(metrics.getMethod())
+                .append("\",endpoint=\"").append(escape(metrics.getEndpoint())).append('"');
+        if (extraLabel != null) {
+            out.append(',').append(extraLabel);
+        }
+        out.append("} ").append(value).append('\n');
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,169 @@
+package mockServer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-JVM replacement for MockServer/mock-server.js
+ * Serves the same endpoints on the JDK HTTP server and handles every request on its own virtual thread
+ *
+ * Enabled with embeddedMockServer=true in config.properties; when the baseUrl port is already taken
+ * (e.g. the Node server is running) the suite simply uses that server instead.
+ */
+public final class EmbeddedMockServer {
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static EmbeddedMockServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MockBackend backend = new MockBackend();
+
+    private EmbeddedMockServer(HttpServer server) {
+        this.server = server;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static EmbeddedMockServer start(int port) throws IOException {
+        // Beyond this many idle keep-alive connections (200 by default) the JDK server closes them, and clients
+        // holding thousands of pooled connections only find out when they reuse one; read once, on first use
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+        }
+        EmbeddedMockServer mockServer = new EmbeddedMockServer(HttpServer.create(new InetSocketAddress(port), 0));
+        mockServer.server.start();
+        return mockServer;
+    }
+
+    /**
+     * Starts the shared server for the suite once, on the port of the configured baseUrl
+     * Does nothing when disabled, when baseUrl points at another host, or when something already listens on the port
+     */
+    public static synchronized void startIfEnabled() {
+        ConfigSnapshot config = ConfigurationManager.current();
+        if (shared != null || !config.getBoolean("embeddedMockServer", false)) {
+            return;
+        }
+        URI baseUri = URI.create(config.getBaseUrl());
+        String host = baseUri.getHost();
+        if (!"localhost".equalsIgnoreCase(host) && !"127.0.0.1".equals(host)) {
+            return;
+        }
+        int port = baseUri.getPort() != -1 ? baseUri.getPort() : 80;
+        try {
+            shared = start(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "embedded-mock-server-stop"));
+            System.out.println("Embedded mock server running on http://localhost:" + shared.getPort());
+        } catch (BindException e) {
+            System.out.println("Port " + port + " is in use, using the mock server already running on it");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the embedded mock server on port " + port, e);
+        }
+    }
+
+    // Whether startIfEnabled started the server in this JVM, as opposed to finding another one on the port
+    public static synchronized boolean isSharedRunning() {
+        return shared != null;
+    }
+
+    // For launchers that outlive the suite, such as sharding.ShardRunner under exec:java
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.stop();
+            shared = null;
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        MockResponse response;
+        try {
+            JsonNode body = readBody(exchange);
+            response = backend.handle(exchange.getRequestMethod().toUpperCase(Locale.ROOT),
+                    exchange.getRequestURI().getPath(), headers(exchange), query(exchange.getRequestURI()), body);
+        } catch (Exception e) {
+            // Same answer as the Express error middleware, e.g. for a malformed JSON body
+            response = MockBackend.error(500, "Internal server error");
+        }
+        byte[] bytes = JsonMapper.mapper().writeValueAsBytes(response.getBody());
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+        exchange.sendResponseHeaders(response.getStatusCode(), bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Like express.json(): only JSON requests have a body, everything else is treated as {}
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            if (bytes.length == 0 || contentType == null || !contentType.toLowerCase(Locale.ROOT).contains("json")) {
+                return JsonNodeFactory.instance.objectNode();
+            }
+            return JsonMapper.mapper().readTree(bytes);
+        }
+    }
+
+    private static Map<String, String> headers(HttpExchange exchange) {
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                headers.put(header.getKey().toLowerCase(Locale.ROOT), header.getValue().get(0));
+            }
+        }
+        return headers;
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.putIfAbsent(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        EmbeddedMockServer mockServer = start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(mockServer::stop, "embedded-mock-server-stop"));
+        System.out.println("Embedded mock server running on http://localhost:" + mockServer.getPort());
+    }
+}
@@ -0,0 +1,548 @@
+package mockServer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Endpoint logic and in-memory state of the embedded mock server
+ * Mirrors the data and validation rules of MockServer/mock-server.js; every check-and-update runs under a lock
+ * so concurrent requests can never spend the same balance twice
+ */
+public class MockBackend {
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+    private static final DateTimeFormatter ISO_MILLIS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final String VALID_TOKEN = "Bearer valid_auth_token_12345";
+    private static final String GUEST_USER = "guest_67890";
+
+    // ReentrantLock rather than synchronized so virtual threads are not pinned while waiting
+    private final ReentrantLock loyaltyLock = new ReentrantLock();
+    private final ReentrantLock walletLock = new ReentrantLock();
+    private final Map<String, Order> orders = new ConcurrentHashMap<>();
+
+    // Loyalty points state
+    private String loyaltyUserId = "user_12345";
+    private double availablePoints = 1500;
+    private double totalEarned = 2500;
+    private double totalRedeemed = 1000;
+    private double expiredPoints = 0;
+    private String pointsLastUpdated = "2024-12-15T10:30:00Z";
+    private double pointsExpiringSoon = 200;
+
+    // Wallet state, guarded by walletLock together with the transactions
+    private String walletUserId = "user_12345";
+    private double availableBalance = 250.50;
+    private double totalDeposited = 500.00;
+    private double totalSpent = 249.50;
+    private String lastTransactionDate = "2024-12-15T09:15:00Z";
+    private final double minimumThreshold = 10.00;
+    private final List<ObjectNode> transactions = new ArrayList<>();
+
+    public MockBackend() {
+        transactions.add(transaction("txn_001", "user_12345", "earned", 50.00, 100, "Points earned from purchase", "2024-12-15T09:15:00Z"));
+        transactions.add(transaction("txn_002", "user_12345", "redeemed", -25.00, -50, "Points redeemed for discount", "2024-12-14T14:30:00Z"));
+        transactions.add(transaction("txn_003", "user_12345", "refund", 75.00, 0, "Refund to wallet", "2024-12-13T16:45:00Z"));
+    }
+
+    public MockResponse handle(String method, String path, Map<String, String> headers, Map<String, String> query, JsonNode body) {
+        switch (method + " " + path) {
+            case "GET /user/loyalty-balance":
+                return loyaltyBalance(headers, body);
+            case "POST /checkout/apply-points":
+                return applyPoints(headers, body);
+            case "POST /checkout/use-wallet":
+                return useWallet(headers, body);
+            case "GET /wallet/balance":
+                return walletBalance(headers, body);
+            case "GET /wallet/transactions":
+                return walletTransactions(headers, query, body);
+            case "POST /refund/trigger":
+                return triggerRefund(headers, body);
+            case "POST /orders":
+                return createOrder(body);
+            case "POST /balances":
+                return setBalances(body);
+            case "GET /health":
+                return health();
+            default:
+                return error(404, "Endpoint not found");
+        }
+    }
+
+    private MockResponse loyaltyBalance(Map<String, String> headers, JsonNode body) {
+        String userId = authenticatedUser(headers, body);
+        if (userId == null) {
+            return authenticationError(headers, body);
+        }
+        if (GUEST_USER.equals(userId)) {
+            return error(403, "Guest users do not have access to loyalty points");
+        }
+        loyaltyLock.lock();
+        try {
+            pointsLastUpdated = now();
+            return success(200, loyaltyPointsNode());
+        } finally {
+            loyaltyLock.unlock();
+        }
+    }
+
+    private MockResponse applyPoints(Map<String, String> headers, JsonNode body) {
+        String userId = authenticatedUser(headers, body);
+        if (userId == null) {
+            return authenticationError(headers, body);
+        }
+        JsonNode orderId = body.path("orderId");
+        JsonNode pointsToUse = body.path("pointsToUse");
+        JsonNode orderTotal = body.path("orderTotal");
+        if (isFalsy(orderId) || isFalsy(pointsToUse) || isFalsy(orderTotal)) {
+            return error(400, "Missing required fields");
+        }
+        if (!isPositiveAmount(pointsToUse) || !isPositiveAmount(orderTotal)) {
+            return error(400, "Amounts must be positive numbers");
+        }
+        if (!orders.containsKey(orderId.asText())) {
+            return error(404, "Order not found");
+        }
+        double points = number(pointsToUse);
+        double total = number(orderTotal);
+
+        loyaltyLock.lock();
+        try {
+            if (points > availablePoints) {
+                return error(400, "Insufficient loyalty points");
+            }
+            // 1 point = 0.1 SAR, so points may cover at most 100% of the order total
+            if (points > Math.floor(total * 10)) {
+                return error(400, "Points exceed maximum allowed percentage");
+            }
+            if (!isFalsy(body.path("useExpiredPoints")) && expiredPoints > 0) {
+                return error(400, "Cannot use expired loyalty points");
+            }
+            double discountAmount = points * 0.1;
+            availablePoints -= points;
+            totalRedeemed += points;
+            pointsLastUpdated = now();
+
+            ObjectNode data = JSON.objectNode();
+            data.set("orderId", orderId);
+            data.set("pointsApplied", pointsToUse);
+            data.set("discountAmount", numberNode(discountAmount));
+            data.set("remainingBalance", numberNode(availablePoints));
+            data.set("updatedOrderTotal", numberNode(total - discountAmount));
+            data.set("currency", orDefault(body, "currency", "SAR"));
+            data.set("region", orDefault(body, "region", "KSA"));
+            return success(200, data);
+        } finally {
+            loyaltyLock.unlock();
+        }
+    }
+
+    private MockResponse useWallet(Map<String, String> headers, JsonNode body) {
+        String userId = authenticatedUser(headers, body);
+        if (userId == null) {
+            return authenticationError(headers, body);
+        }
+        JsonNode orderId = body.path("orderId");
+        JsonNode walletAmount = body.path("walletAmount");
+        JsonNode orderTotal = body.path("orderTotal");
+        if (isFalsy(orderId) || isFalsy(walletAmount) || isFalsy(orderTotal)) {
+            return error(400, "Missing required fields");
+        }
+        if (!isPositiveAmount(walletAmount) || !isPositiveAmount(orderTotal)) {
+            return error(400, "Amounts must be positive numbers");
+        }
+        if (!orders.containsKey(orderId.asText())) {
+            return error(404, "Order not found");
+        }
+        double amount = number(walletAmount);
+        double total = number(orderTotal);
+
+        walletLock.lock();
+        try {
+            if (amount > availableBalance) {
+                return error(400, "Insufficient wallet balance");
+            }
+            if (amount < minimumThreshold) {
+                return error(400, "Wallet amount below minimum threshold");
+            }
+            if (amount > total) {
+                return error(400, "Wallet amount cannot exceed order total");
+            }
+            availableBalance -= amount;
+            totalSpent += amount;
+            lastTransactionDate = now();
+
+            ObjectNode data = JSON.objectNode();
+            data.set("orderId", orderId);
+            data.set("walletAmountUsed", walletAmount);
+            data.set("remainingBalance", numberNode(availableBalance));
+            data.set("updatedOrderTotal", numberNode(total - amount));
+            data.set("currency", orDefault(body, "currency", "SAR"));
+            data.put("transactionId", "txn_" + System.currentTimeMillis());
+            data.set("paymentType", orDefault(body, "paymentType", "wallet"));
+            return success(200, data);
+        } finally {
+            walletLock.unlock();
+        }
+    }
+
+    private MockResponse walletBalance(Map<String, String> headers, JsonNode body) {
+        String userId = authenticatedUser(headers, body);
+        if (userId == null) {
+            return authenticationError(headers, body);
+        }
+        if (GUEST_USER.equals(userId)) {
+            return error(403, "Guest users do not have access to wallet balance");
+        }
+        walletLock.lock();
+        try {
+            lastTransactionDate = now();
+            return success(200, walletBalanceNode());
+        } finally {
+            walletLock.unlock();
+        }
+    }
+
+    private MockResponse walletTransactions(Map<String, String> headers, Map<String, String> query, JsonNode body) {
+        String userId = authenticatedUser(headers, body);
+        if (userId == null) {
+            return authenticationError(headers, body);
+        }
+        int limit = parseInt(query.get("limit"), 10);
+        int offset = parseInt(query.get("offset"), 0);
+        String type = query.get("type");
+        Instant startDate = query.containsKey("startDate") ? parseDate(query.get("startDate")) : null;
+        Instant endDate = query.containsKey("endDate") ? parseDate(query.get("endDate")) : null;
+        // An invalid Date compares false against every date in the Node mock, so nothing matches
+        boolean invalidDate = query.containsKey("startDate") && startDate == null || query.containsKey("endDate") && endDate == null;
+
+        List<ObjectNode> filtered = new ArrayList<>();
+        walletLock.lock();
+        try {
+            for (ObjectNode transaction : invalidDate ? List.<ObjectNode>of() : transactions) {
+                Instant date = Instant.parse(transaction.get("date").asText());
+                if ((type == null || type.equals(transaction.get("type").asText()))
+                        && (startDate == null || !date.isBefore(startDate))
+                        && (endDate == null || !date.isAfter(endDate))) {
+                    filtered.add(transaction.deepCopy());
+                }
+            }
+        } finally {
+            walletLock.unlock();
+        }
+
+        ArrayNode page = JSON.arrayNode();
+        filtered.stream().skip(Math.max(offset, 0)).limit(Math.max(limit, 0)).forEach(page::add);
+        ObjectNode pagination = JSON.objectNode();
+        pagination.put("limit", limit);
+        pagination.put("offset", offset);
+        pagination.put("total", filtered.size());
+
+        ObjectNode data = JSON.objectNode();
+        data.put("userId", userId);
+        data.set("transactions", page);
+        data.set("pagination", pagination);
+        data.put("currency", "SAR");
+        return success(200, data);
+    }
+
+    private MockResponse triggerRefund(Map<String, String> headers, JsonNode body) {
+        String userId = authenticatedUser(headers, body);
+        if (userId == null) {
+            return authenticationError(headers, body);
+        }
+        JsonNode orderId = body.path("orderId");
+        JsonNode refundAmount = body.path("refundAmount");
+        JsonNode refundReason = body.path("refundReason");
+        if (isFalsy(orderId) || isFalsy(refundAmount) || isFalsy(refundReason)) {
+            return error(400, "Missing required fields");
+        }
+        if (!isPositiveAmount(refundAmount)) {
+            return error(400, "Amounts must be positive numbers");
+        }
+        Order order = orders.get(orderId.asText());
+        if (order == null) {
+            return error(404, "Order not found");
+        }
+        double amount = number(refundAmount);
+        if (amount > order.total) {
+            return error(400, "Refund amount cannot exceed order total");
+        }
+        JsonNode refundType = orDefault(body, "refundType", "wallet");
+        JsonNode currency = orDefault(body, "currency", "SAR");
+        String refundId = "refund_" + System.currentTimeMillis();
+
+        walletLock.lock();
+        try {
+            // Refunds of one order may never add up to more than its total
+            if (order.refunded + amount > order.total + 1e-9) {
+                return error(400, "Refund amount exceeds the amount left to refund");
+            }
+            order.refunded += amount;
+            if ("wallet".equals(refundType.textValue())) {
+                availableBalance += amount;
+                totalDeposited += amount;
+                lastTransactionDate = now();
+                ObjectNode transaction = transaction("txn_" + System.currentTimeMillis(), userId, "refund", amount, 0,
+                        refundReason.asText(), now());
+                transaction.set("amount", refundAmount);
+                transaction.set("currency", currency);
+                transactions.add(0, transaction);
+            }
+        } finally {
+            walletLock.unlock();
+        }
+
+        ObjectNode data = JSON.objectNode();
+        data.put("refundId", refundId);
+        data.set("orderId", orderId);
+        data.set("refundAmount", refundAmount);
+        data.set("refundType", refundType);
+        data.put("status", "processed");
+        data.set("currency", currency);
+        data.put("processedAt", now());
+        return success(200, data);
+    }
+
+    // Helper endpoint to create orders for testing
+    private MockResponse createOrder(JsonNode body) {
+        JsonNode orderId = body.path("orderId");
+        JsonNode total = body.path("total");
+        JsonNode currency = orDefault(body, "currency", "SAR");
+        orders.put(orderId.asText(), new Order(number(total)));
+
+        ObjectNode data = JSON.objectNode();
+        data.set("orderId", orderId.isMissingNode() ? JSON.nullNode() : orderId);
+        data.set("total", total.isMissingNode() ? JSON.nullNode() : total);
+        data.set("currency", currency);
+        return success(201, data);
+    }
+
+    // Helper endpoint to set (availablePoints, availableBalance) or adjust (addPoints, addBalance) the points and
+    // wallet balance for testing; adjustments add up when several test runs share the server, and stop at zero so a run
+    // can take back what it added even after spending part of it
+    private MockResponse setBalances(JsonNode body) {
+        JsonNode points = body.path("availablePoints");
+        JsonNode balance = body.path("availableBalance");
+        JsonNode addPoints = body.path("addPoints");
+        JsonNode addBalance = body.path("addBalance");
+        if (!isBalance(points) || !isBalance(balance) || !isAdjustment(addPoints) || !isAdjustment(addBalance)) {
+            return error(400, "Balances must be non-negative numbers");
+        }
+        ObjectNode data = JSON.objectNode();
+        loyaltyLock.lock();
+        walletLock.lock();
+        try {
+            availablePoints = Math.max((points.isMissingNode() ? availablePoints : points.doubleValue()) + addPoints.asDouble(0), 0);
+            availableBalance = Math.max((balance.isMissingNode() ? availableBalance : balance.doubleValue()) + addBalance.asDouble(0), 0);
+            data.set("availablePoints", numberNode(availablePoints));
+            data.set("availableBalance", numberNode(availableBalance));
+        } finally {
+            walletLock.unlock();
+            loyaltyLock.unlock();
+        }
+        return success(200, data);
+    }
+
+    private MockResponse health() {
+        ObjectNode data = JSON.objectNode();
+        data.put("status", "healthy");
+        data.put("timestamp", now());
+        return success(200, data);
+    }
+
+    // Returns the user ID when both the user and a valid token are present, otherwise null
+    private static String authenticatedUser(Map<String, String> headers, JsonNode body) {
+        String userId = userIdOf(headers, body);
+        String authToken = headers.get("authorization");
+        return userId != null && VALID_TOKEN.equals(authToken) ? userId : null;
+    }
+
+    private static MockResponse authenticationError(Map<String, String> headers, JsonNode body) {
+        if (userIdOf(headers, body) == null || headers.get("authorization") == null) {
+            return error(401, "Missing user ID or authorization token");
+        }
+        return error(401, "Invalid authentication token");
+    }
+
+    private static String userIdOf(Map<String, String> headers, JsonNode body) {
+        String userId = headers.get("user-id");
+        if (userId == null || userId.isEmpty()) {
+            JsonNode bodyUserId = body.path("userId");
+            userId = isFalsy(bodyUserId) ? null : bodyUserId.asText();
+        }
+        return userId;
+    }
+
+    private ObjectNode loyaltyPointsNode() {
+        ObjectNode node = JSON.objectNode();
+        node.put("userId", loyaltyUserId);
+        node.set("availablePoints", numberNode(availablePoints));
+        node.set("totalEarned", numberNode(totalEarned));
+        node.set("totalRedeemed", numberNode(totalRedeemed));
+        node.set("expiredPoints", numberNode(expiredPoints));
+        node.put("lastUpdated", pointsLastUpdated);
+        node.set("pointsExpiringSoon", numberNode(pointsExpiringSoon));
+        node.put("currency", "SAR");
+        node.put("region", "KSA");
+        return node;
+    }
+
+    private ObjectNode walletBalanceNode() {
+        ObjectNode node = JSON.objectNode();
+        node.put("userId", walletUserId);
+        node.set("availableBalance", numberNode(availableBalance));
+        node.set("totalDeposited", numberNode(totalDeposited));
+        node.set("totalSpent", numberNode(totalSpent));
+        node.put("lastTransactionDate", lastTransactionDate);
+        node.put("currency", "SAR");
+        node.put("region", "KSA");
+        node.set("minimumThreshold", numberNode(minimumThreshold));
+        return node;
+    }
+
+    private static ObjectNode transaction(String transactionId, String userId, String type, double amount, int points,
+                                          String description, String date) {
+        ObjectNode node = JSON.objectNode();
+        node.put("transactionId", transactionId);
+        node.put("userId", userId);
+        node.put("type", type);
+        node.set("amount", numberNode(amount));
+        node.put("points", points);
+        node.put("description", description);
+        node.put("date", date);
+        node.put("currency", "SAR");
+        return node;
+    }
+
+    private static MockResponse success(int statusCode, JsonNode data) {
+        return new MockResponse(statusCode, envelope(true, data, null));
+    }
+
+    static MockResponse error(int statusCode, String message) {
+        return new MockResponse(statusCode, envelope(false, null, message));
+    }
+
+    private static ObjectNode envelope(boolean success, JsonNode data, String message) {
+        ObjectNode node = JSON.objectNode();
+        node.put("success", success);
+        node.set("data", data == null ? JSON.nullNode() : data);
+        node.put("message", message);
+        node.put("timestamp", now());
+        return node;
+    }
+
+    private static String now() {
+        return ISO_MILLIS.format(Instant.now());
+    }
+
+    // JavaScript truthiness of a request field: missing, null, false, 0, NaN and "" are all falsy
+    static boolean isFalsy(JsonNode node) {
+        if (node.isMissingNode() || node.isNull()) {
+            return true;
+        }
+        if (node.isBoolean()) {
+            return !node.booleanValue();
+        }
+        if (node.isNumber()) {
+            double value = node.doubleValue();
+            return value == 0 || Double.isNaN(value);
+        }
+        return node.isTextual() && node.textValue().isEmpty();
+    }
+
+    // Amounts must be positive, finite JSON numbers; numeric strings and booleans are not coerced
+    static boolean isPositiveAmount(JsonNode node) {
+        return node.isNumber() && node.doubleValue() > 0 && Double.isFinite(node.doubleValue());
+    }
+
+    private static boolean isBalance(JsonNode node) {
+        return node.isMissingNode() || isPositiveAmount(node) || node.isNumber() && node.doubleValue() == 0;
+    }
+
+    private static boolean isAdjustment(JsonNode node) {
+        return node.isMissingNode() || node.isNumber() && Double.isFinite(node.doubleValue());
+    }
+
+    // The ISO forms JavaScript's new Date(...) accepts: instants, date-times and plain dates (taken as UTC); null otherwise
+    static Instant parseDate(String value) {
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            // Not a date-time with an offset, try the forms without one
+        }
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            // Not a date-time, try a plain date
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // JavaScript-style numeric coercion; values that are not numbers compare false against everything
+    static double number(JsonNode node) {
+        if (node.isNumber()) {
+            return node.doubleValue();
+        }
+        if (node.isTextual()) {
+            try {
+                return Double.parseDouble(node.textValue().trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return node.isBoolean() ? (node.booleanValue() ? 1 : 0) : Double.NaN;
+    }
+
+    // Whole numbers are written without a fraction, like JSON.stringify does
+    static JsonNode numberNode(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return JSON.numberNode((long) value);
+        }
+        return JSON.numberNode(value);
+    }
+
+    private static JsonNode orDefault(JsonNode body, String field, String defaultValue) {
+        JsonNode node = body.path(field);
+        return node.isMissingNode() ? JSON.textNode(defaultValue) : node;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static final class Order {
+        private final double total;
+        // Guarded by walletLock
+        private double refunded;
+
+        private Order(double total) {
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package mockServer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Status code and JSON body produced by the mock backend for one request
+ */
+public class MockResponse {
+    private final int statusCode;
+    private final JsonNode body;
+
+    public MockResponse(int statusCode, JsonNode body) {
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public JsonNode getBody() {
+        return body;
+    }
+}
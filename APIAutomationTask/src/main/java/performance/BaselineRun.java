@@ -0,0 +1,73 @@
+package performance;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * One run's latency distributions per endpoint, as kept in the BaselineStore
+ * Histograms are stored in HdrHistogram's compressed encoding, base64 encoded, so percentiles can be re-read exactly
+ */
+public class BaselineRun {
+    private final Instant timestamp;
+    private final String environment;
+    private final boolean gatePassed;
+    private final Map<String, String> histograms;
+
+    public BaselineRun(Instant timestamp, String environment, boolean gatePassed, Map<String, String> histograms) {
+        this.timestamp = timestamp;
+        this.environment = environment;
+        this.gatePassed = gatePassed;
+        this.histograms = Collections.unmodifiableMap(new LinkedHashMap<>(histograms));
+    }
+
+    public static BaselineRun of(String environment, boolean gatePassed, Map<String, Histogram> histograms) {
+        Map<String, String> encoded = new LinkedHashMap<>();
+        histograms.forEach((endpoint, histogram) -> encoded.put(endpoint, encode(histogram)));
+        return new BaselineRun(Instant.now(), environment, gatePassed, encoded);
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    // Runs are only compared with runs of the same environment (suite, target and transport)
+    public String getEnvironment() {
+        return environment;
+    }
+
+    // Whether the run passed the gate, kept for the record; failed runs still count towards later baselines
+    public boolean isGatePassed() {
+        return gatePassed;
+    }
+
+    public Map<String, String> getHistograms() {
+        return histograms;
+    }
+
+    public Histogram histogram(String endpoint) {
+        String encoded = histograms.get(endpoint);
+        return encoded == null ? null : decode(encoded);
+    }
+
+    public static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    public static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt histogram in baseline store", e);
+        }
+    }
+}
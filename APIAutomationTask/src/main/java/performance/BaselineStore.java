@@ -0,0 +1,107 @@
+package performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Append-only JSON Lines file of BaselineRuns, one line per run
+ * Lines are never rewritten; appends take a file lock so parallel forks or shards can share one store,
+ * and lines that cannot be parsed (e.g. a run killed mid-write) are skipped when reading
+ */
+public class BaselineStore {
+    private final Path file;
+
+    public BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void append(BaselineRun run) {
+        ObjectNode node = JsonMapper.mapper().createObjectNode();
+        node.put("timestamp", run.getTimestamp().toString());
+        node.put("environment", run.getEnvironment());
+        node.put("gatePassed", run.isGatePassed());
+        ObjectNode histograms = node.putObject("histograms");
+        run.getHistograms().forEach(histograms::put);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            byte[] line = (JsonMapper.mapper().writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to baseline store " + file, e);
+        }
+    }
+
+    /**
+     * Every run recorded for the environment, oldest first
+     */
+    public List<BaselineRun> load(String environment) {
+        return load(run -> run.getEnvironment().equals(environment));
+    }
+
+    /**
+     * Every run in the store, oldest first
+     */
+    public List<BaselineRun> loadAll() {
+        return load(run -> true);
+    }
+
+    private List<BaselineRun> load(Predicate<BaselineRun> filter) {
+        List<BaselineRun> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                BaselineRun run = parse(line);
+                if (run != null && filter.test(run)) {
+                    runs.add(run);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read baseline store " + file, e);
+        }
+        return runs;
+    }
+
+    private static BaselineRun parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = JsonMapper.mapper().readTree(line);
+            Map<String, String> histograms = new LinkedHashMap<>();
+            node.path("histograms").fields().forEachRemaining(entry -> histograms.put(entry.getKey(), entry.getValue().asText()));
+            return new BaselineRun(Instant.parse(node.path("timestamp").asText()), node.path("environment").asText(),
+                    node.path("gatePassed").asBoolean(), histograms);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package performance;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * High dynamic range latency recorder keyed by endpoint
+ * Recording is wait-free so it can be called from every request thread; values are kept in microseconds
+ */
+public class LatencyRecorder {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final LatencyRecorder GLOBAL = new LatencyRecorder();
+
+    private final Map<String, EndpointHistogram> histograms = new ConcurrentHashMap<>();
+
+    // Recorder shared by every call made through the framework's request specifications
+    public static LatencyRecorder global() {
+        return GLOBAL;
+    }
+
+    public static String key(String method, String path) {
+        return method.toUpperCase() + " " + path;
+    }
+
+    public void record(String endpoint, long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.computeIfAbsent(endpoint, name -> new EndpointHistogram()).record(micros);
+    }
+
+    // Adds a histogram recorded elsewhere, e.g. by another JVM, in microseconds like this recorder
+    public void add(String endpoint, Histogram histogram) {
+        histograms.computeIfAbsent(endpoint, name -> new EndpointHistogram()).add(histogram);
+    }
+
+    // Copy of everything recorded so far for the endpoint, empty when nothing was recorded
+    public Histogram histogram(String endpoint) {
+        EndpointHistogram histogram = histograms.get(endpoint);
+        return histogram == null ? newHistogram() : histogram.snapshot();
+    }
+
+    public LatencySummary summary(String endpoint) {
+        return new LatencySummary(endpoint, histogram(endpoint));
+    }
+
+    public Map<String, LatencySummary> summaries() {
+        Map<String, LatencySummary> summaries = new TreeMap<>();
+        for (String endpoint : histograms.keySet()) {
+            summaries.put(endpoint, summary(endpoint));
+        }
+        return summaries;
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static class EndpointHistogram {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram accumulated = newHistogram();
+        private Histogram interval;
+
+        void record(long micros) {
+            recorder.recordValue(micros);
+        }
+
+        synchronized void add(Histogram histogram) {
+            accumulated.add(histogram);
+        }
+
+        // Interval histograms are folded into the accumulated one so readers never block recording threads
+        synchronized Histogram snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            accumulated.add(interval);
+            return accumulated.copy();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package performance;
+
+/**
+ * The latest latencies of one endpoint, considered stable once the window is full and their coefficient of
+ * variation (standard deviation over mean) is at or below the threshold
+ */
+public class LatencyStabilityWindow {
+    private final long[] samples;
+    private final double maxCoefficientOfVariation;
+    private int count;
+    private int next;
+
+    public LatencyStabilityWindow(int size, double maxCoefficientOfVariation) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Stability window needs at least 2 samples, got " + size);
+        }
+        this.samples = new long[size];
+        this.maxCoefficientOfVariation = maxCoefficientOfVariation;
+    }
+
+    public void add(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    public boolean isStable() {
+        return count == samples.length && coefficientOfVariation() <= maxCoefficientOfVariation;
+    }
+
+    public double coefficientOfVariation() {
+        double mean = mean();
+        if (count < 2 || mean == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double squares = 0;
+        for (int i = 0; i < count; i++) {
+            squares += (samples[i] - mean) * (samples[i] - mean);
+        }
+        return Math.sqrt(squares / (count - 1)) / mean;
+    }
+
+    public double meanMillis() {
+        return mean() / 1_000_000;
+    }
+
+    private double mean() {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += samples[i];
+        }
+        return sum / count;
+    }
+}
@@ -0,0 +1,65 @@
+package performance;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Percentile summary of one endpoint's latency distribution
+ * All values are in milliseconds
+ */
+public class LatencySummary {
+    private final String endpoint;
+    private final long count;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    public LatencySummary(String endpoint, Histogram histogram) {
+        this.endpoint = endpoint;
+        this.count = histogram.getTotalCount();
+        this.p50 = toMillis(histogram.getValueAtPercentile(50.0));
+        this.p90 = toMillis(histogram.getValueAtPercentile(90.0));
+        this.p99 = toMillis(histogram.getValueAtPercentile(99.0));
+        this.p999 = toMillis(histogram.getValueAtPercentile(99.9));
+        this.max = toMillis(histogram.getMaxValue());
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms",
+                endpoint, count, p50, p90, p99, p999, max);
+    }
+}
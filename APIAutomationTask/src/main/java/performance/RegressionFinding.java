@@ -0,0 +1,74 @@
+package performance;
+
+/**
+ * Outcome of comparing one endpoint percentile against its baseline
+ * All values are in milliseconds; the threshold is what the current value had to stay at or below
+ */
+public class RegressionFinding {
+    private final String endpoint;
+    private final double percentile;
+    private final int baselineRuns;
+    private final double baselineMedian;
+    private final double baselineMad;
+    private final double threshold;
+    private final double current;
+
+    public RegressionFinding(String endpoint, double percentile, int baselineRuns, double baselineMedian, double baselineMad,
+                             double threshold, double current) {
+        this.endpoint = endpoint;
+        this.percentile = percentile;
+        this.baselineRuns = baselineRuns;
+        this.baselineMedian = baselineMedian;
+        this.baselineMad = baselineMad;
+        this.threshold = threshold;
+        this.current = current;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public int getBaselineRuns() {
+        return baselineRuns;
+    }
+
+    public double getBaselineMedian() {
+        return baselineMedian;
+    }
+
+    public double getBaselineMad() {
+        return baselineMad;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public double getCurrent() {
+        return current;
+    }
+
+    public boolean isRegression() {
+        return current > threshold;
+    }
+
+    // Relative change against the baseline median, e.g. 0.4 for 40% slower
+    public double getChange() {
+        return baselineMedian == 0 ? 0 : current / baselineMedian - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s p%s: %.1fms vs baseline %.1fms (MAD %.1fms, %d runs, limit %.1fms) %+.0f%%",
+                isRegression() ? "REGRESSION" : "ok", endpoint, formatPercentile(percentile), current, baselineMedian,
+                baselineMad, baselineRuns, threshold, getChange() * 100);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
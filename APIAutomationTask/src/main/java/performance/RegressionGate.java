@@ -0,0 +1,129 @@
+package performance;
+
+import org.HdrHistogram.Histogram;
+import utils.ConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a run's latency percentiles with the same percentiles of the last baseline runs
+ * Every run counts, including ones that failed the gate: leaving those out would pin the baseline to the fastest runs
+ * A percentile regresses when it exceeds the baseline median by more than the relative tolerance, by more than
+ * madThreshold robust standard deviations (1.4826 * MAD) and by more than minDeltaMs, so neither a noisy baseline
+ * nor a sub-millisecond endpoint fails the gate on jitter alone
+ */
+public class RegressionGate {
+    // Scales the median absolute deviation to a standard deviation for normally distributed values
+    private static final double MAD_SCALE = 1.4826;
+
+    private final double[] percentiles;
+    private final double tolerance;
+    private final double madThreshold;
+    private final double minDeltaMs;
+    private final long minSamples;
+    private final int minRuns;
+    private final int window;
+
+    public RegressionGate(double[] percentiles, double tolerance, double madThreshold, double minDeltaMs,
+                          long minSamples, int minRuns, int window) {
+        this.percentiles = percentiles.clone();
+        this.tolerance = tolerance;
+        this.madThreshold = madThreshold;
+        this.minDeltaMs = minDeltaMs;
+        this.minSamples = minSamples;
+        this.minRuns = minRuns;
+        this.window = window;
+    }
+
+    public static RegressionGate fromConfig(ConfigSnapshot config) {
+        double[] percentiles = Arrays.stream(config.getString("perfGatePercentiles", "50,90").split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+        return new RegressionGate(percentiles,
+                config.getDouble("perfGateTolerance", 0.25),
+                config.getDouble("perfGateMadThreshold", 3.0),
+                config.getDouble("perfGateMinDeltaMs", 5.0),
+                config.getLong("perfGateMinSamples", 10),
+                config.getInt("perfGateMinRuns", 5),
+                config.getInt("perfGateWindow", 10));
+    }
+
+    /**
+     * One finding per endpoint and percentile with enough samples now and enough baseline runs;
+     * endpoints without a usable baseline yet are left out
+     */
+    public List<RegressionFinding> evaluate(Map<String, Histogram> current, List<BaselineRun> history) {
+        List<RegressionFinding> findings = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entry : current.entrySet()) {
+            if (entry.getValue().getTotalCount() < minSamples) {
+                continue;
+            }
+            List<Histogram> baseline = baselineOf(entry.getKey(), history);
+            if (baseline.size() < minRuns) {
+                continue;
+            }
+            for (double percentile : percentiles) {
+                findings.add(compare(entry.getKey(), percentile, entry.getValue(), baseline));
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Endpoints evaluate leaves out, with the reason: too few samples in this run or too few usable baseline runs
+     */
+    public Map<String, String> leftOut(Map<String, Histogram> current, List<BaselineRun> history) {
+        Map<String, String> leftOut = new LinkedHashMap<>();
+        for (Map.Entry<String, Histogram> entry : current.entrySet()) {
+            long samples = entry.getValue().getTotalCount();
+            if (samples < minSamples) {
+                leftOut.put(entry.getKey(), samples + " of " + minSamples + " samples");
+                continue;
+            }
+            int runs = baselineOf(entry.getKey(), history).size();
+            if (runs < minRuns) {
+                leftOut.put(entry.getKey(), runs + " of " + minRuns + " baseline runs");
+            }
+        }
+        return leftOut;
+    }
+
+    // The latest runs that have enough samples of the endpoint, at most window of them
+    private List<Histogram> baselineOf(String endpoint, List<BaselineRun> history) {
+        List<Histogram> baseline = new ArrayList<>();
+        for (int i = history.size() - 1; i >= 0 && baseline.size() < window; i--) {
+            BaselineRun run = history.get(i);
+            Histogram histogram = run.histogram(endpoint);
+            if (histogram != null && histogram.getTotalCount() >= minSamples) {
+                baseline.add(histogram);
+            }
+        }
+        return baseline;
+    }
+
+    private RegressionFinding compare(String endpoint, double percentile, Histogram current, List<Histogram> baseline) {
+        double[] values = baseline.stream().mapToDouble(histogram -> millisAt(histogram, percentile)).toArray();
+        double median = median(values);
+        double mad = median(Arrays.stream(values).map(value -> Math.abs(value - median)).toArray());
+        double threshold = Math.max(median * (1 + tolerance),
+                Math.max(median + madThreshold * MAD_SCALE * mad, median + minDeltaMs));
+        return new RegressionFinding(endpoint, percentile, values.length, median, mad, threshold, millisAt(current, percentile));
+    }
+
+    private static double millisAt(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
@@ -0,0 +1,24 @@
+package performance;
+
+/**
+ * Marks the warm-up phase that runs before a suite's first test
+ * Calls made while it runs are left out of LatencyRecorder and MetricsRegistry, so they never reach a latency assertion
+ */
+public final class WarmUp {
+    private static volatile boolean running;
+
+    private WarmUp() {
+    }
+
+    public static boolean isRunning() {
+        return running;
+    }
+
+    public static void begin() {
+        running = true;
+    }
+
+    public static void end() {
+        running = false;
+    }
+}
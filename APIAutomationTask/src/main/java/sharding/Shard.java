@@ -0,0 +1,52 @@
+package sharding;
+
+/**
+ * The slice of the suite this JVM runs: shard index of count, both 1-based, e.g. -Dshard.index=2 -Dshard.count=3
+ * Forks of one sharded run share a run ID (shard.runId) so they all plan from the same duration history
+ */
+public final class Shard {
+    private final int index;
+    private final int count;
+    private final String runId;
+
+    public Shard(int index, int count, String runId) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Shard index must be between 1 and the shard count, got " + index + "/" + count);
+        }
+        this.index = index;
+        this.count = count;
+        this.runId = runId;
+    }
+
+    /**
+     * The shard set with -Dshard.index and -Dshard.count, or null when the suite is not sharded
+     */
+    public static Shard current() {
+        Integer index = Integer.getInteger("shard.index");
+        Integer count = Integer.getInteger("shard.count");
+        if (index == null && count == null) {
+            return null;
+        }
+        if (index == null || count == null) {
+            throw new IllegalArgumentException("Set both shard.index and shard.count to run a shard");
+        }
+        return new Shard(index, count, System.getProperty("shard.runId", ""));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
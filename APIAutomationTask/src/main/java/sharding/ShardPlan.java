@@ -0,0 +1,38 @@
+package sharding;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of ShardPlanner: the shard (1-based) of every unit and the expected duration of every shard
+ */
+public final class ShardPlan {
+    private final int shardCount;
+    private final Map<String, Integer> shardByUnit;
+    private final double[] loads;
+
+    ShardPlan(int shardCount, Map<String, Integer> shardByUnit, double[] loads) {
+        this.shardCount = shardCount;
+        this.shardByUnit = Collections.unmodifiableMap(new TreeMap<>(shardByUnit));
+        this.loads = loads;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // 0 when the unit was not part of the plan
+    public int shardOf(String unit) {
+        return shardByUnit.getOrDefault(unit, 0);
+    }
+
+    public double getLoad(int shard) {
+        return loads[shard - 1];
+    }
+
+    public double getTotalLoad() {
+        return Arrays.stream(loads).sum();
+    }
+}
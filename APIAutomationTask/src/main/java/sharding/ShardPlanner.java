@@ -0,0 +1,59 @@
+package sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits units (test methods or classes) into shards of about equal expected duration
+ * Longest processing time first: units are placed from the slowest down, each on the currently lightest shard,
+ * which keeps the slowest shard within 4/3 of the best possible split; ties are broken by name so every fork
+ * computes the same plan
+ */
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Expected duration of every unit, the sum of its tests' estimates
+     * Tests without history weigh the median of the known estimates; when none is known every test weighs the same,
+     * so a suite without history is split evenly by test count
+     */
+    public static Map<String, Double> weigh(Map<String, List<String>> testsByUnit, Map<String, Double> estimates) {
+        double[] known = testsByUnit.values().stream()
+                .flatMap(List::stream)
+                .filter(estimates::containsKey)
+                .mapToDouble(estimates::get)
+                .sorted()
+                .toArray();
+        double fallback = known.length == 0 ? 1.0
+                : known.length % 2 == 1 ? known[known.length / 2] : (known[known.length / 2 - 1] + known[known.length / 2]) / 2;
+        Map<String, Double> weights = new HashMap<>();
+        testsByUnit.forEach((unit, tests) -> weights.put(unit,
+                tests.stream().mapToDouble(test -> estimates.getOrDefault(test, fallback)).sum()));
+        return weights;
+    }
+
+    public static ShardPlan plan(Map<String, Double> unitWeights, int shardCount) {
+        List<Map.Entry<String, Double>> units = new ArrayList<>(unitWeights.entrySet());
+        units.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+
+        double[] loads = new double[shardCount];
+        Map<String, Integer> shardByUnit = new HashMap<>();
+        for (Map.Entry<String, Double> unit : units) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += unit.getValue();
+            shardByUnit.put(unit.getKey(), lightest + 1);
+        }
+        return new ShardPlan(shardCount, shardByUnit, Arrays.copyOf(loads, loads.length));
+    }
+}
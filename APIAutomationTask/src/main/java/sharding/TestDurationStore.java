@@ -0,0 +1,105 @@
+package sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only JSON Lines file of test durations, one line per run or shard, keyed by class#method
+ * Appends take a file lock so parallel shards can share the file; unreadable lines are skipped
+ */
+public class TestDurationStore {
+    private final Path file;
+
+    public TestDurationStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void append(String runId, Map<String, Long> durationsMillis) {
+        ObjectNode node = JsonMapper.mapper().createObjectNode();
+        node.put("timestamp", Instant.now().toString());
+        node.put("runId", runId);
+        ObjectNode durations = node.putObject("durations");
+        new TreeMap<>(durationsMillis).forEach(durations::put);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            byte[] line = (JsonMapper.mapper().writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 FileLock ignored = channel.lock()) {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to test duration store " + file, e);
+        }
+    }
+
+    /**
+     * Median of the last window durations of every test, in milliseconds
+     * Lines of the given run are left out, so shards that finish early never change the plan of shards still starting
+     */
+    public Map<String, Double> estimates(String excludedRunId, int window) {
+        Map<String, List<Long>> samples = new HashMap<>();
+        if (Files.exists(file)) {
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    JsonNode node = parse(line);
+                    if (node == null || (!excludedRunId.isEmpty() && excludedRunId.equals(node.path("runId").asText()))) {
+                        continue;
+                    }
+                    node.path("durations").fields().forEachRemaining(entry ->
+                            samples.computeIfAbsent(entry.getKey(), test -> new ArrayList<>()).add(entry.getValue().asLong()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read test duration store " + file, e);
+            }
+        }
+        Map<String, Double> estimates = new HashMap<>();
+        samples.forEach((test, durations) -> {
+            List<Long> latest = durations.subList(Math.max(0, durations.size() - window), durations.size());
+            estimates.put(test, median(latest));
+        });
+        return estimates;
+    }
+
+    private static JsonNode parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return JsonMapper.mapper().readTree(line);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static double median(List<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+}
@@ -0,0 +1,64 @@
+package utils;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Command lines for child JVMs running a main class from this JVM's classpath, with the surefire JVM settings
+ * Config keys and the gs./suite./load./contention./fuzz. properties set on this JVM are passed on to the child
+ */
+public final class ChildJvm {
+    private static final List<String> FORWARDED_PREFIXES = List.of(ConfigurationManager.PROPERTY_PREFIX, "suite.", "load.", "contention.", "fuzz.");
+
+    private ChildJvm() {
+    }
+
+    // jvmArgs come after the forwarded properties, so they win over them
+    public static List<String> command(List<String> jvmArgs, String mainClass, List<String> args) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx1024m");
+        command.add("-XX:MaxMetaspaceSize=256m");
+        command.add("-Dfile.encoding=UTF8");
+        Set<String> configKeys = ConfigurationManager.current().asMap().keySet();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (configKeys.contains(name) || FORWARDED_PREFIXES.stream().anyMatch(name::startsWith)) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath());
+        command.add(mainClass);
+        command.addAll(args);
+        return command;
+    }
+
+    // exec:java loads the classpath in a URLClassLoader rather than on java.class.path, so both are included
+    public static String classpath() {
+        Set<String> entries = new LinkedHashSet<>();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                try {
+                    entries.add(Paths.get(url.toURI()).toString());
+                } catch (URISyntaxException | IllegalArgumentException ignored) {
+                    // not a file, cannot be on a child JVM's classpath
+                }
+            }
+        }
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+}
@@ -0,0 +1,112 @@
+package utils;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable, typed view of config.properties after overrides were applied
+ * A snapshot never changes; hot reload swaps in a new snapshot instead
+ */
+public final class ConfigSnapshot {
+    private final Map<String, String> values;
+    private final String source;
+    private final Instant loadedAt;
+    // Endpoint key by configured path, built on first lookup
+    private volatile Map<String, String> endpointKeysByPath;
+
+    ConfigSnapshot(Map<String, String> values, String source) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+        this.source = source;
+        this.loadedAt = Instant.now();
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public String getString(String key) {
+        return values.get(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : parse(key, value, Integer::parseInt);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : parse(key, value, Long::parseLong);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : parse(key, value, Double::parseDouble);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public String getBaseUrl() {
+        return values.get("baseUrl");
+    }
+
+    // Endpoint paths are configured under their key, e.g. "loyaltyBalanceEndPoint"
+    public String getEndpoint(String endpointKey) {
+        return values.get(endpointKey);
+    }
+
+    // Reverse of getEndpoint: "/wallet/balance" -> "walletBalanceEndPoint", null for paths that are not configured
+    public String getEndpointKey(String path) {
+        Map<String, String> keys = endpointKeysByPath;
+        if (keys == null) {
+            keys = new HashMap<>();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (entry.getKey().endsWith("EndPoint")) {
+                    keys.putIfAbsent(entry.getValue(), entry.getKey());
+                }
+            }
+            endpointKeysByPath = keys;
+        }
+        return keys.get(path);
+    }
+
+    public int getConnectTimeoutMillis() {
+        return getInt("connectTimeoutMs", 5000);
+    }
+
+    public int getReadTimeoutMillis() {
+        return getInt("readTimeoutMs", 10000);
+    }
+
+    // SLA of "loyaltyBalanceEndPoint" is read from "loyaltyBalanceSlaMs", falling back to "defaultSlaMs"
+    public long getSlaMillis(String endpointKey) {
+        String slaKey = endpointKey.replaceFirst("EndPoint$", "") + "SlaMs";
+        return getLong(slaKey, getLong("defaultSlaMs", 3000));
+    }
+
+    private static <T> T parse(String key, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid value for config key '" + key + "': " + value, e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads config.properties once into an immutable ConfigSnapshot and hot-reloads it when the file changes
+ * Lookups are a single volatile read, so they are safe and cheap from any number of concurrent callers
+ *
+ * Resolution order of the file: -Dconfig.file, src/main/resources/config.properties under user.dir, classpath.
+ * Every key in the file can be overridden with a system property of the same name or a GS_ environment variable,
+ * e.g. -DbaseUrl=http://host:3000 or GS_BASE_URL=http://host:3000. Keys missing from the file are only added from a
+ * GS_ environment variable or a gs.-prefixed system property (-Dgs.ordersSlaMs=500), so unrelated JVM and Maven
+ * properties (basedir, localRepository, test) never become config keys.
+ * Reload only reaches code that reads current() per call: the base URL of SpecRegistry, the connection pool and the
+ * transport choice are copied once at start-up and need a new run to change
+ */
+public final class ConfigurationManager {
+    private static final String CONFIG_FILE_NAME = "config.properties";
+    private static final String ENV_PREFIX = "GS_";
+    static final String PROPERTY_PREFIX = "gs.";
+    private static final long RELOAD_SETTLE_MILLIS = 200;
+    private static final AtomicReference<ConfigSnapshot> CURRENT = new AtomicReference<>();
+    private static volatile Thread watcher;
+
+    private ConfigurationManager() {
+    }
+
+    public static ConfigSnapshot current() {
+        ConfigSnapshot snapshot = CURRENT.get();
+        return snapshot != null ? snapshot : initialize();
+    }
+
+    // Loads a new snapshot and swaps it in; callers holding the previous snapshot keep using it undisturbed
+    public static ConfigSnapshot reload() {
+        ConfigSnapshot snapshot = load();
+        CURRENT.set(snapshot);
+        return snapshot;
+    }
+
+    private static synchronized ConfigSnapshot initialize() {
+        ConfigSnapshot snapshot = CURRENT.get();
+        if (snapshot == null) {
+            snapshot = reload();
+            if (snapshot.getBoolean("configHotReload", false)) {
+                startWatching();
+            }
+        }
+        return snapshot;
+    }
+
+    private static ConfigSnapshot load() {
+        Properties properties = new Properties();
+        String source;
+        Path file = configFile();
+        try {
+            if (file != null) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    properties.load(in);
+                }
+                source = file.toAbsolutePath().toString();
+            } else {
+                try (InputStream in = ConfigurationManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE_NAME)) {
+                    if (in == null) {
+                        throw new IllegalStateException(CONFIG_FILE_NAME + " not found on the file system or classpath");
+                    }
+                    properties.load(in);
+                }
+                source = "classpath:" + CONFIG_FILE_NAME;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load " + CONFIG_FILE_NAME, e);
+        }
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key).trim());
+        }
+        applyOverrides(values);
+        if (values.get("baseUrl") == null) {
+            throw new IllegalStateException("Missing 'baseUrl' in " + source);
+        }
+        return new ConfigSnapshot(values, source);
+    }
+
+    private static void applyOverrides(Map<String, String> values) {
+        // Keys missing from the file only come from the GS_ and gs. namespaces; a bare property overrides existing keys
+        for (Map.Entry<String, String> env : System.getenv().entrySet()) {
+            if (env.getKey().startsWith(ENV_PREFIX) && env.getKey().length() > ENV_PREFIX.length()) {
+                values.putIfAbsent(fromEnvName(env.getKey().substring(ENV_PREFIX.length())), env.getValue());
+            }
+        }
+        for (String property : System.getProperties().stringPropertyNames()) {
+            if (property.startsWith(PROPERTY_PREFIX) && property.length() > PROPERTY_PREFIX.length()) {
+                values.putIfAbsent(property.substring(PROPERTY_PREFIX.length()), System.getProperty(property));
+            }
+        }
+        for (String key : values.keySet()) {
+            String env = System.getenv(ENV_PREFIX + toEnvName(key));
+            if (env != null) {
+                values.put(key, env);
+            }
+            String property = System.getProperty(key);
+            if (property != null) {
+                values.put(key, property);
+            }
+            String prefixed = System.getProperty(PROPERTY_PREFIX + key);
+            if (prefixed != null) {
+                values.put(key, prefixed);
+            }
+        }
+    }
+
+    // baseUrl -> BASE_URL, loyaltyBalanceEndPoint -> LOYALTY_BALANCE_END_POINT
+    static String toEnvName(String key) {
+        return key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").replace('.', '_').toUpperCase(Locale.ROOT);
+    }
+
+    // BASE_URL -> baseUrl, the inverse of toEnvName for camelCase keys
+    static String fromEnvName(String envName) {
+        StringBuilder key = new StringBuilder();
+        for (String word : envName.toLowerCase(Locale.ROOT).split("_")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            key.append(key.length() == 0 ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        }
+        return key.toString();
+    }
+
+    private static Path configFile() {
+        String explicit = System.getProperty("config.file");
+        if (explicit != null) {
+            return Paths.get(explicit);
+        }
+        Path sourceFile = Paths.get(System.getProperty("user.dir"), "src", "main", "resources", CONFIG_FILE_NAME);
+        return Files.isRegularFile(sourceFile) ? sourceFile : null;
+    }
+
+    private static synchronized void startWatching() {
+        Path file = configFile();
+        if (watcher != null || file == null) {
+            return;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Path fileName = file.getFileName();
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            watcher = Thread.ofPlatform().daemon().name("config-watcher").start(() -> watch(watchService, fileName));
+        } catch (IOException e) {
+            System.err.println("Config hot reload disabled: " + e.getMessage());
+        }
+    }
+
+    private static void watch(WatchService watchService, Path fileName) {
+        try (watchService) {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= fileName.equals(event.context());
+                }
+                if (changed) {
+                    // Editors emit several events per save; let the write settle before reading
+                    Thread.sleep(RELOAD_SETTLE_MILLIS);
+                    key.pollEvents();
+                    try {
+                        ConfigSnapshot snapshot = reload();
+                        System.out.println("Reloaded configuration from " + snapshot.getSource());
+                    } catch (RuntimeException e) {
+                        // A half-written or invalid file keeps the previous snapshot in place
+                        System.err.println("Unable to reload configuration: " + e.getMessage());
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Config watcher stopped: " + e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package utils;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Utility class for configuration management and JSON processing
@@ -13,55 +14,58 @@ import java.io.IOException;
  */
 public class JavaUtilities {
 
-    private static String baseUrl = PropertiesLoader.configFile().get("baseUrl");
-    private static String loyaltyBalanceEndPoint = PropertiesLoader.configFile().get("loyaltyBalanceEndPoint");
-    private static String applyPointsEndPoint = PropertiesLoader.configFile().get("applyPointsEndPoint");
-    private static String useWalletEndPoint = PropertiesLoader.configFile().get("useWalletEndPoint");
-    private static String walletBalanceEndPoint = PropertiesLoader.configFile().get("walletBalanceEndPoint");
-    private static String walletTransactionsEndPoint = PropertiesLoader.configFile().get("walletTransactionsEndPoint");
-    private static String refundTriggerEndPoint = PropertiesLoader.configFile().get("refundTriggerEndPoint");
-    private static String ordersEndPoint = PropertiesLoader.configFile().get("ordersEndPoint");
-    private static String healthEndPoint = PropertiesLoader.configFile().get("healthEndPoint");
-
+    // Getters read the current snapshot so hot-reloaded values are picked up by the next call
     public static String getBaseUrl() {
-        return baseUrl;
+        return ConfigurationManager.current().getBaseUrl();
     }
     public static String getLoyaltyBalanceEndPoint() {
-        return loyaltyBalanceEndPoint;
+        return ConfigurationManager.current().getEndpoint("loyaltyBalanceEndPoint");
     }
     public static String getApplyPointsEndPoint() {
-        return applyPointsEndPoint;
+        return ConfigurationManager.current().getEndpoint("applyPointsEndPoint");
     }
     public static String getUseWalletEndPoint() {
-        return useWalletEndPoint;
+        return ConfigurationManager.current().getEndpoint("useWalletEndPoint");
     }
     public static String getWalletBalanceEndPoint() {
-        return walletBalanceEndPoint;
+        return ConfigurationManager.current().getEndpoint("walletBalanceEndPoint");
     }
     public static String getWalletTransactionsEndPoint() {
-        return walletTransactionsEndPoint;
+        return ConfigurationManager.current().getEndpoint("walletTransactionsEndPoint");
     }
     public static String getRefundTriggerEndPoint() {
-        return refundTriggerEndPoint;
+        return ConfigurationManager.current().getEndpoint("refundTriggerEndPoint");
     }
     public static String getOrdersEndPoint() {
-        return ordersEndPoint;
+        return ConfigurationManager.current().getEndpoint("ordersEndPoint");
+    }
+    public static String getBalancesEndPoint() {
+        return ConfigurationManager.current().getEndpoint("balancesEndPoint");
     }
     public static String getHealthEndPoint() {
-        return healthEndPoint;
+        return ConfigurationManager.current().getEndpoint("healthEndPoint");
+    }
+    public static long getSlaMillis(String endpointKey) {
+        return ConfigurationManager.current().getSlaMillis(endpointKey);
     }
 
+    // Files in the configured testDataDir are served from TestDataRepository; anything else is read and pretty-printed from disk
     public static String jsonReader(String jsonFilePath) throws FileNotFoundException, IOException {
+        Path path = Paths.get(jsonFilePath).toAbsolutePath().normalize();
+        String fileName = path.getFileName().toString();
+        if (path.getParent().equals(testDataDirectory()) && TestDataRepository.contains(fileName)) {
+            return TestDataRepository.json(fileName);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new FileNotFoundException(jsonFilePath);
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return TestDataRepository.prettyPrint(reader);
+        }
+    }
 
-        final Gson g = new Gson();
-
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        String prettyJ;
-        Object o = g.fromJson(new FileReader(jsonFilePath), Object.class);
-
-        prettyJ = gson.toJson(o);
-
-        return prettyJ;
-
+    private static Path testDataDirectory() {
+        return Paths.get(ConfigurationManager.current().getString("testDataDir", "src/main/resources/testData"))
+                .toAbsolutePath().normalize();
     }
 }
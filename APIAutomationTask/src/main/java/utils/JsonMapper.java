@@ -0,0 +1,20 @@
+package utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Shared, pre-configured Jackson mapper for the framework
+ * ObjectMapper is thread-safe once configured, so a single instance serves every caller
+ */
+public final class JsonMapper {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private JsonMapper() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+}
@@ -0,0 +1,79 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Streams the "data" envelope of API responses straight into POJOs
+ * The body is read once with a streaming parser; fields outside "data" are skipped without being materialized
+ */
+public final class ResponseMapper {
+    private static final String DATA_FIELD = "data";
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private ResponseMapper() {
+    }
+
+    // Binds {"data": {...}} to the given type; returns null when "data" is missing or null
+    public static <T> T readData(byte[] body, Class<T> type) throws IOException {
+        try (JsonParser parser = JsonMapper.mapper().getFactory().createParser(body)) {
+            return readData(parser, type);
+        }
+    }
+
+    public static <T> T readData(InputStream body, Class<T> type) throws IOException {
+        try (JsonParser parser = JsonMapper.mapper().getFactory().createParser(body)) {
+            return readData(parser, type);
+        }
+    }
+
+    // Hands the elements of data.<arrayField> to the consumer one at a time, so large pages are never held in memory at once
+    public static <T> int forEachInDataArray(InputStream body, String arrayField, Class<T> type, Consumer<? super T> consumer) throws IOException {
+        try (JsonParser parser = JsonMapper.mapper().getFactory().createParser(body)) {
+            if (!moveToField(parser, DATA_FIELD) || parser.nextToken() != JsonToken.START_OBJECT
+                    || !moveToField(parser, arrayField) || parser.nextToken() != JsonToken.START_ARRAY) {
+                return 0;
+            }
+            ObjectReader reader = readerFor(type);
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(reader.readValue(parser));
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static <T> T readData(JsonParser parser, Class<T> type) throws IOException {
+        if (!moveToField(parser, DATA_FIELD) || parser.nextToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return readerFor(type).readValue(parser);
+    }
+
+    // Advances to the given field of the current object, skipping the values of other fields
+    private static boolean moveToField(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() == null && parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (field.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, key -> JsonMapper.mapper().readerFor(key));
+    }
+}
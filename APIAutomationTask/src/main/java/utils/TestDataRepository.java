@@ -0,0 +1,126 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Repository of the request payloads under testData/ on the classpath
+ * Every file is parsed and pretty-printed once; callers get the shared String, a read-only byte view or a tree copy
+ */
+public final class TestDataRepository {
+    private static final String TEST_DATA_DIRECTORY = "testData";
+    private static final Gson GSON = new Gson();
+    private static final Gson PRETTY_GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private TestDataRepository() {
+    }
+
+    public static boolean contains(String fileName) {
+        return Holder.ENTRIES.containsKey(fileName);
+    }
+
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(Holder.ENTRIES.keySet());
+    }
+
+    // Pretty-printed payload, identical to what JavaUtilities.jsonReader has always returned
+    public static String json(String fileName) {
+        return entry(fileName).json;
+    }
+
+    // UTF-8 bytes of the payload without copying; the buffer cannot be written to
+    public static ByteBuffer bytes(String fileName) {
+        return entry(fileName).bytes.asReadOnlyBuffer();
+    }
+
+    // Private copy of the parsed payload that callers are free to modify
+    public static JsonElement tree(String fileName) {
+        return entry(fileName).tree.deepCopy();
+    }
+
+    // Pretty-prints any JSON document the same way as the cached payloads
+    static String prettyPrint(Reader reader) {
+        return PRETTY_GSON.toJson(GSON.fromJson(reader, Object.class));
+    }
+
+    private static Entry entry(String fileName) {
+        Entry entry = Holder.ENTRIES.get(fileName);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown test data file: " + fileName + ", available: " + Holder.ENTRIES.keySet());
+        }
+        return entry;
+    }
+
+    private static final class Entry {
+        private final String json;
+        private final ByteBuffer bytes;
+        private final JsonElement tree;
+
+        private Entry(String json) {
+            this.json = json;
+            this.bytes = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+            this.tree = JsonParser.parseString(json);
+        }
+    }
+
+    // Loaded by the JVM on first use, once per class loader
+    private static final class Holder {
+        private static final Map<String, Entry> ENTRIES = load();
+
+        private static Map<String, Entry> load() {
+            URL directory = TestDataRepository.class.getClassLoader().getResource(TEST_DATA_DIRECTORY);
+            if (directory == null) {
+                throw new IllegalStateException(TEST_DATA_DIRECTORY + "/ not found on the classpath");
+            }
+            try {
+                URI uri = directory.toURI();
+                if ("jar".equals(uri.getScheme())) {
+                    // Inside a jar the directory can only be listed through a zip file system
+                    try (FileSystem ignored = FileSystems.newFileSystem(uri, Map.of())) {
+                        return loadDirectory(Path.of(uri));
+                    } catch (FileSystemAlreadyExistsException e) {
+                        return loadDirectory(Path.of(uri));
+                    }
+                }
+                return loadDirectory(Path.of(uri));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to load test data", e);
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException("Invalid test data location: " + directory, e);
+            }
+        }
+
+        private static Map<String, Entry> loadDirectory(Path directory) throws IOException {
+            Map<String, Entry> entries = new TreeMap<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".json"))::iterator) {
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        entries.put(file.getFileName().toString(), new Entry(prettyPrint(reader)));
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(entries);
+        }
+    }
+}
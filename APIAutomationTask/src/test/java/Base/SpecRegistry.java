@@ -0,0 +1,82 @@
+package Base;
+
+import apiConfig.HeaderConfig;
+import connection.ConnectionPool;
+import filters.BodyBufferingFilter;
+import filters.LatencyCaptureFilter;
+import filters.MetricsFilter;
+import filters.ResponseCaptureFilter;
+import filters.RingBufferLoggingFilter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import utils.JavaUtilities;
+
+/**
+ * Shared registry of the request and response specifications
+ * Specs are built once on first use and never reassigned, so test methods can read them from any thread
+ * Request specs send through the shared keep-alive pool of ConnectionPool; latency is measured up to the last body byte
+ * Response time is checked against the per-endpoint SLAs of config.properties (ApiVerification), not by these specs
+ */
+public final class SpecRegistry {
+
+    private SpecRegistry() {
+    }
+
+    public static RequestSpecification requestSpec() {
+        return Holder.REQUEST_SPEC;
+    }
+
+    public static RequestSpecification requestSpecContentType() {
+        return Holder.REQUEST_SPEC_CONTENT_TYPE;
+    }
+
+    public static ResponseSpecification successResponseSpec() {
+        return Holder.SUCCESS_RESPONSE_SPEC;
+    }
+
+    public static ResponseSpecification errorResponseSpec() {
+        return Holder.ERROR_RESPONSE_SPEC;
+    }
+
+    // Initialized by the JVM on first access, which guarantees safe publication to every thread
+    private static final class Holder {
+        private static final HeaderConfig HEADER_CONFIG = new HeaderConfig();
+        private static final RestAssuredConfig POOLED_CONFIG = RestAssuredConfig.config()
+                .httpClient(ConnectionPool.httpClientConfig());
+
+        private static final RequestSpecification REQUEST_SPEC = new RequestSpecBuilder()
+                .setBaseUri(JavaUtilities.getBaseUrl())
+                .setConfig(POOLED_CONFIG)
+                .addFilter(new RingBufferLoggingFilter())
+                .addFilter(new ResponseCaptureFilter())
+                .addHeaders(HEADER_CONFIG.defaultHeaders())
+                .addFilter(new MetricsFilter())
+                .addFilter(new LatencyCaptureFilter())
+                .addFilter(new BodyBufferingFilter())
+                .build();
+
+        private static final RequestSpecification REQUEST_SPEC_CONTENT_TYPE = new RequestSpecBuilder()
+                .setBaseUri(JavaUtilities.getBaseUrl())
+                .setConfig(POOLED_CONFIG)
+                .addFilter(new RingBufferLoggingFilter())
+                .addFilter(new ResponseCaptureFilter())
+                .addHeaders(HEADER_CONFIG.defaultHeadersNoCharset())
+                .addFilter(new MetricsFilter())
+                .addFilter(new LatencyCaptureFilter())
+                .addFilter(new BodyBufferingFilter())
+                .build();
+
+        private static final ResponseSpecification SUCCESS_RESPONSE_SPEC = new ResponseSpecBuilder()
+                .expectStatusCode(200)
+                .expectContentType("application/json")
+                .build();
+
+        private static final ResponseSpecification ERROR_RESPONSE_SPEC = new ResponseSpecBuilder()
+                .expectStatusCode(400)
+                .expectContentType("application/json")
+                .build();
+    }
+}
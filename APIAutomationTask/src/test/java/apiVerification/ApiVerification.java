@@ -1,8 +1,14 @@
 package apiVerification;
 
 import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
 import org.testng.Assert;
 import org.testng.asserts.SoftAssert;
+import performance.LatencyRecorder;
+import performance.LatencySummary;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ApiVerification {
 
@@ -33,32 +39,62 @@ public class ApiVerification {
         Assert.assertTrue(actualTime <= maxResponseTime, "Response time is too high! Expected <= " + maxResponseTime + "ms but found: " + actualTime + "ms");
     }
 
+    // Asserts on the endpoint's recorded latency distribution instead of a single sample
+    public static void verifyResponseTimePercentile(String method, String path, double percentile, long maxResponseTime) {
+        String endpoint = LatencyRecorder.key(method, path);
+        Histogram histogram = LatencyRecorder.global().histogram(endpoint);
+        Assert.assertTrue(histogram.getTotalCount() > 0, "No response times recorded for " + endpoint);
+        double actualTime = histogram.getValueAtPercentile(percentile) / 1000.0;
+        System.out.println("Response Times: " + new LatencySummary(endpoint, histogram));
+        Assert.assertTrue(actualTime <= maxResponseTime, "Response time p" + percentile + " of " + endpoint + " is too high! Expected <= "
+                + maxResponseTime + "ms but found: " + actualTime + "ms over " + histogram.getTotalCount() + " requests");
+    }
+
+    public static final AssertionPlan SUCCESS_PLAN = AssertionPlan.builder("Success response")
+            .statusCode(200)
+            .fieldValue("success", "true")
+            .build();
+
+    public static final AssertionPlan LOYALTY_BALANCE_PLAN = AssertionPlan.builder("Loyalty balance response")
+            .include(SUCCESS_PLAN)
+            .fieldPresent("data.userId")
+            .fieldPresent("data.availablePoints")
+            .fieldPresent("data.currency")
+            .fieldPresent("data.region")
+            .build();
+
+    public static final AssertionPlan WALLET_PLAN = AssertionPlan.builder("Wallet balance response")
+            .include(SUCCESS_PLAN)
+            .fieldPresent("data.userId")
+            .fieldPresent("data.availableBalance")
+            .fieldPresent("data.currency")
+            .fieldPresent("data.region")
+            .build();
+
+    // Error plans only differ by status code, so each one is compiled once and reused
+    private static final Map<Integer, AssertionPlan> ERROR_PLANS = new ConcurrentHashMap<>();
+
+    public static AssertionPlan errorPlan(int expectedStatusCode) {
+        return ERROR_PLANS.computeIfAbsent(expectedStatusCode, code -> AssertionPlan.builder("Error response " + code)
+                .statusCode(code)
+                .fieldValue("success", "false")
+                .fieldPresent("message")
+                .build());
+    }
+
     public static void verifySuccessResponse(Response response) {
-        verifyStatusCode(response, 200);
-        verifyFieldPresence(response, "success");
-        verifyFieldValue(response, "success", "true");
+        SUCCESS_PLAN.verify(response);
     }
     
     public static void verifyErrorResponse(Response response, int expectedStatusCode) {
-        verifyStatusCode(response, expectedStatusCode);
-        verifyFieldPresence(response, "success");
-        verifyFieldValue(response, "success", "false");
-        verifyFieldPresence(response, "message");
+        errorPlan(expectedStatusCode).verify(response);
     }
     
     public static void verifyLoyaltyBalanceResponse(Response response) {
-        verifySuccessResponse(response);
-        verifyFieldPresence(response, "data.userId");
-        verifyFieldPresence(response, "data.availablePoints");
-        verifyFieldPresence(response, "data.currency");
-        verifyFieldPresence(response, "data.region");
+        LOYALTY_BALANCE_PLAN.verify(response);
     }
     
     public static void verifyWalletResponse(Response response) {
-        verifySuccessResponse(response);
-        verifyFieldPresence(response, "data.userId");
-        verifyFieldPresence(response, "data.availableBalance");
-        verifyFieldPresence(response, "data.currency");
-        verifyFieldPresence(response, "data.region");
+        WALLET_PLAN.verify(response);
     }
 }
@@ -0,0 +1,143 @@
+package apiVerification;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiled set of expectations for a response
+ * Field paths are compiled to JSON pointers once; verify() parses the body a single time and reports every failure together
+ */
+public final class AssertionPlan {
+    private final String name;
+    private final Integer expectedStatusCode;
+    private final List<FieldCheck> checks;
+
+    private AssertionPlan(Builder builder) {
+        this.name = builder.name;
+        this.expectedStatusCode = builder.expectedStatusCode;
+        this.checks = Collections.unmodifiableList(new ArrayList<>(builder.checks));
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void verify(Response response) {
+        List<String> failures = evaluate(response.getStatusCode(), response.asByteArray());
+        if (!failures.isEmpty()) {
+            Assert.fail("Assertion plan '" + name + "' failed with " + failures.size() + " error(s):\n - "
+                    + String.join("\n - ", failures));
+        }
+    }
+
+    // Returns the failure messages instead of throwing, e.g. for reuse inside load runs
+    public List<String> evaluate(int statusCode, byte[] body) {
+        List<String> failures = new ArrayList<>();
+        if (expectedStatusCode != null && statusCode != expectedStatusCode) {
+            failures.add("Expected status code: " + expectedStatusCode + " but found: " + statusCode);
+        }
+        if (checks.isEmpty()) {
+            return failures;
+        }
+        JsonNode root;
+        try {
+            root = JsonMapper.mapper().readTree(body);
+        } catch (IOException e) {
+            failures.add("Response body is not valid JSON: " + e.getMessage());
+            return failures;
+        }
+        for (FieldCheck check : checks) {
+            String failure = check.evaluate(root == null ? JsonMapper.mapper().missingNode() : root);
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+        return failures;
+    }
+
+    // "data.transactions[0].type" -> "/data/transactions/0/type"
+    static JsonPointer compile(String field) {
+        StringBuilder pointer = new StringBuilder();
+        for (String segment : field.replace("[", ".").replace("]", "").split("\\.")) {
+            if (!segment.isEmpty()) {
+                pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+            }
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+
+    private static final class FieldCheck {
+        private final String field;
+        private final JsonPointer pointer;
+        private final String expectedValue;
+
+        private FieldCheck(String field, String expectedValue) {
+            this.field = field;
+            this.pointer = compile(field);
+            this.expectedValue = expectedValue;
+        }
+
+        // Same semantics as the JsonPath based checks: JSON null counts as absent, values compare as strings
+        private String evaluate(JsonNode root) {
+            JsonNode node = root.at(pointer);
+            boolean present = !node.isMissingNode() && !node.isNull();
+            if (expectedValue == null) {
+                return present ? null : "Field '" + field + "' is not present in the response.";
+            }
+            String actualValue = present ? (node.isValueNode() ? node.asText() : node.toString()) : null;
+            return Objects.equals(actualValue, expectedValue) ? null
+                    : "Expected value for field '" + field + "' is: " + expectedValue + ", but found: " + actualValue;
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final List<FieldCheck> checks = new ArrayList<>();
+        private Integer expectedStatusCode;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        // Copies the status code and field checks of another plan into this one
+        public Builder include(AssertionPlan plan) {
+            if (plan.expectedStatusCode != null) {
+                expectedStatusCode = plan.expectedStatusCode;
+            }
+            checks.addAll(plan.checks);
+            return this;
+        }
+
+        public Builder statusCode(int statusCode) {
+            this.expectedStatusCode = statusCode;
+            return this;
+        }
+
+        public Builder fieldPresent(String field) {
+            checks.add(new FieldCheck(field, null));
+            return this;
+        }
+
+        public Builder fieldValue(String field, String expectedValue) {
+            checks.add(new FieldCheck(field, Objects.requireNonNull(expectedValue, "expectedValue")));
+            return this;
+        }
+
+        public AssertionPlan build() {
+            return new AssertionPlan(this);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package connection;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared keep-alive connection pool behind every request specification
+ * Sizes, keep-alive, idle eviction and timeouts come from config.properties:
+ * httpPoolMaxTotal, httpPoolMaxPerRoute, httpKeepAliveMs, httpIdleEvictionMs, connectTimeoutMs and readTimeoutMs
+ */
+@SuppressWarnings("deprecation") // RestAssured 5 is built on the HttpClient 4 AbstractHttpClient API
+public final class ConnectionPool {
+
+    private ConnectionPool() {
+    }
+
+    /**
+     * RestAssured client configuration that reuses one pooled client for every request on every thread
+     */
+    public static HttpClientConfig httpClientConfig() {
+        return Holder.HTTP_CLIENT_CONFIG;
+    }
+
+    public static ConnectionPoolStats stats() {
+        PoolStats total = Holder.MANAGER.getTotalStats();
+        return new ConnectionPoolStats(Holder.MANAGER.getHits(), Holder.MANAGER.getMisses(),
+                total.getLeased(), total.getAvailable(), total.getPending(), total.getMax());
+    }
+
+    public static void resetStats() {
+        Holder.MANAGER.resetCounters();
+    }
+
+    // Keep-alive from the server's Keep-Alive header, else the configured default so we close before the server does
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAliveMillis) {
+        return (response, context) -> {
+            HeaderElementIterator iterator = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (iterator.hasNext()) {
+                HeaderElement element = iterator.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(Long.parseLong(element.getValue()) * 1000, defaultKeepAliveMillis);
+                    } catch (NumberFormatException ignored) {
+                        // fall through to the default
+                    }
+                }
+            }
+            return defaultKeepAliveMillis;
+        };
+    }
+
+    private static final class Holder {
+        private static final ConfigSnapshot CONFIG = ConfigurationManager.current();
+        private static final PooledConnectionManager MANAGER = new PooledConnectionManager(
+                CONFIG.getInt("httpPoolMaxTotal", 64), CONFIG.getInt("httpPoolMaxPerRoute", 32));
+        private static final DefaultHttpClient CLIENT = createClient();
+        private static final HttpClientConfig HTTP_CLIENT_CONFIG = HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> CLIENT)
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, CONFIG.getConnectTimeoutMillis())
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, CONFIG.getReadTimeoutMillis())
+                .reuseHttpClientInstance();
+
+        private static DefaultHttpClient createClient() {
+            DefaultHttpClient client = new DefaultHttpClient(MANAGER);
+            client.setKeepAliveStrategy(keepAliveStrategy(CONFIG.getLong("httpKeepAliveMs", 4000)));
+            startIdleEviction(CONFIG.getLong("httpIdleEvictionMs", 30000));
+            return client;
+        }
+
+        private static void startIdleEviction(long idleMillis) {
+            ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "connection-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(idleMillis / 2, 1000);
+            evictor.scheduleWithFixedDelay(() -> {
+                MANAGER.closeExpiredConnections();
+                MANAGER.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package connection;
+
+/**
+ * Point-in-time view of the shared connection pool
+ */
+public class ConnectionPoolStats {
+    private final long hits;
+    private final long misses;
+    private final int leased;
+    private final int available;
+    private final int pending;
+    private final int max;
+
+    public ConnectionPoolStats(long hits, long misses, int leased, int available, int pending, int max) {
+        this.hits = hits;
+        this.misses = misses;
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.max = max;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public int getLeased() {
+        return leased;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    // Share of leases served by a kept-alive connection, 0 when nothing was leased yet
+    public double getHitRatio() {
+        long leases = hits + misses;
+        return leases == 0 ? 0 : (double) hits / leases;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d hitRatio=%.1f%% leased=%d available=%d pending=%d max=%d",
+                hits, misses, getHitRatio() * 100, leased, available, pending, max);
+    }
+}
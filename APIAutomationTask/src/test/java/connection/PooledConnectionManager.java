@@ -0,0 +1,110 @@
+package connection;
+
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keep-alive connection pool that counts how often a lease reuses an open connection
+ * A lease handing out an already open connection is a hit; one that has to connect first is a miss
+ *
+ * The HttpClient pool waits for a free connection inside a synchronized block, which pins a virtual thread
+ * to its carrier; callers therefore queue on a per-route semaphore first, so the pool itself never has to wait.
+ */
+@SuppressWarnings("deprecation") // RestAssured 5 is built on the HttpClient 4 AbstractHttpClient API
+public class PooledConnectionManager extends PoolingClientConnectionManager {
+    private final int maxPerRoute;
+    private final Map<HttpRoute, Semaphore> routePermits = new ConcurrentHashMap<>();
+    private final Map<ManagedClientConnection, Semaphore> leasedPermits = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PooledConnectionManager(int maxTotal, int maxPerRoute) {
+        super(SchemeRegistryFactory.createDefault());
+        this.maxPerRoute = maxPerRoute;
+        setMaxTotal(maxTotal);
+        setDefaultMaxPerRoute(maxPerRoute);
+    }
+
+    @Override
+    public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+        Semaphore permits = routePermits.computeIfAbsent(route, r -> new Semaphore(maxPerRoute, true));
+        return new ClientConnectionRequest() {
+            private volatile Thread waiter;
+
+            @Override
+            public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                    throws InterruptedException, ConnectionPoolTimeoutException {
+                waiter = Thread.currentThread();
+                try {
+                    // A timeout of 0 or less means wait forever, as in the HttpClient pool
+                    if (timeout > 0) {
+                        if (!permits.tryAcquire(timeout, unit)) {
+                            throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+                        }
+                    } else {
+                        permits.acquire();
+                    }
+                } finally {
+                    waiter = null;
+                }
+                ManagedClientConnection connection;
+                try {
+                    connection = PooledConnectionManager.super.requestConnection(route, state).getConnection(timeout, unit);
+                } catch (InterruptedException | ConnectionPoolTimeoutException | RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                leasedPermits.put(connection, permits);
+                if (connection.isOpen()) {
+                    hits.increment();
+                } else {
+                    misses.increment();
+                }
+                return connection;
+            }
+
+            @Override
+            public void abortRequest() {
+                Thread thread = waiter;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(ManagedClientConnection connection, long keepAlive, TimeUnit unit) {
+        try {
+            super.releaseConnection(connection, keepAlive, unit);
+        } finally {
+            Semaphore permits = leasedPermits.remove(connection);
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+    }
+}
@@ -0,0 +1,23 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter reading the response body as soon as it arrives
+ * RestAssured streams bodies lazily, and a pooled connection is only released once its body has been consumed
+ */
+public class BodyBufferingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        response.asByteArray();
+        return response;
+    }
+}
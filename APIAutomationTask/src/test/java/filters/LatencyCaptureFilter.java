@@ -0,0 +1,30 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import performance.LatencyRecorder;
+import performance.WarmUp;
+
+/**
+ * RestAssured filter recording the latency of every call into the global LatencyRecorder
+ * Calls are keyed by HTTP method and endpoint path, e.g. "GET /wallet/balance"; warm-up calls are not recorded
+ */
+public class LatencyCaptureFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (WarmUp.isRunning()) {
+            return response;
+        }
+        LatencyRecorder.global().record(LatencyRecorder.key(requestSpec.getMethod(), requestSpec.getUserDefinedPath()),
+                System.nanoTime() - start);
+        return response;
+    }
+}
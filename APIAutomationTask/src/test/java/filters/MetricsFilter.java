@@ -0,0 +1,48 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import metrics.MetricsRegistry;
+import performance.WarmUp;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RestAssured filter updating the global MetricsRegistry for every call
+ * Calls are keyed by the config.properties key of their path, e.g. "walletBalanceEndPoint"; warm-up calls are not counted
+ */
+public class MetricsFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (WarmUp.isRunning()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        MetricsRegistry metrics = MetricsRegistry.global();
+        String method = requestSpec.getMethod();
+        String endpoint = MetricsRegistry.endpointKey(requestSpec.getUserDefinedPath());
+        long start = metrics.started(method, endpoint, bodySize(requestSpec.getBody()));
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            metrics.failed(method, endpoint);
+            throw e;
+        }
+        // Bodies are already buffered by BodyBufferingFilter, so this does not read from the connection
+        metrics.completed(method, endpoint, start, response.getStatusCode(), response.asByteArray().length);
+        return response;
+    }
+
+    private static long bodySize(Object body) {
+        if (body instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return body == null ? 0 : body.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
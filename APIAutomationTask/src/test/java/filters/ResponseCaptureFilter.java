@@ -0,0 +1,24 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import logging.ResponseRegistry;
+
+/**
+ * RestAssured filter keeping every response in the calling thread's ResponseRegistry
+ * Lets the listener report the responses behind a failure without knowing where the test kept them
+ */
+public class ResponseCaptureFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        ResponseRegistry.record(response);
+        return response;
+    }
+}
@@ -0,0 +1,46 @@
+package filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import logging.ExchangeLog;
+import logging.LogVerbosity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RestAssured filter recording every exchange into the calling thread's ExchangeLog ring buffer
+ * Replaces log().all(): nothing reaches the console unless the test fails, and nothing is formatted before that
+ */
+public class RingBufferLoggingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (ExchangeLog.verbosity() != LogVerbosity.NONE) {
+            Object requestBody = requestSpec.getBody();
+            Headers requestHeaders = requestSpec.getHeaders();
+            ExchangeLog.record(ExchangeLog.current(), requestSpec.getMethod(), requestSpec.getURI(),
+                    () -> toMap(requestHeaders), requestBody == null ? null : requestBody.toString(),
+                    response.getStatusCode(), () -> toMap(response.getHeaders()), response::asString,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return response;
+    }
+
+    private static Map<String, String> toMap(Headers headers) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Header header : headers) {
+            map.merge(header.getName(), header.getValue(), (first, second) -> first + ", " + second);
+        }
+        return map;
+    }
+}
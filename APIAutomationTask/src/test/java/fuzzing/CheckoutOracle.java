@@ -0,0 +1,221 @@
+package fuzzing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import utils.JsonMapper;
+
+import java.io.IOException;
+
+/**
+ * Invariants every checkout response must hold for the payload that produced it
+ * Rejections that depend on the live balances (insufficient points or wallet, order already refunded) are always
+ * allowed; everything the payload alone decides must be answered exactly, and accepted payloads must add up
+ */
+public class CheckoutOracle {
+    private static final double MINIMUM_WALLET_AMOUNT = 10.00;
+
+    private final FuzzOrders orders;
+
+    public CheckoutOracle(FuzzOrders orders) {
+        this.orders = orders;
+    }
+
+    /**
+     * Null when the response satisfies every invariant, otherwise the first one it breaks
+     */
+    public Violation check(FuzzCase fuzzCase, int status, byte[] body) {
+        if (status >= 500) {
+            return new Violation("no-server-error", "status " + status);
+        }
+        JsonNode json;
+        try {
+            json = JsonMapper.mapper().readTree(body);
+        } catch (IOException e) {
+            return new Violation("json-envelope", "response is not JSON: " + e.getMessage());
+        }
+        if (json == null || !json.path("success").isBoolean() || json.path("success").booleanValue() != (status == 200)) {
+            return new Violation("json-envelope", "success flag does not match status " + status);
+        }
+        String message = json.path("message").asText("");
+        if (status != 200 && message.isEmpty()) {
+            return new Violation("json-envelope", "status " + status + " without an error message");
+        }
+
+        if (requiredFieldMissing(fuzzCase)) {
+            return status == 400 ? null
+                    : new Violation("missing-field-rejected", "expected 400, got " + status + " '" + message + "'");
+        }
+        boolean knownOrder = !Double.isNaN(orders.totalOf(fuzzCase));
+        if (!amountsValid(fuzzCase) || breaksBusinessRule(fuzzCase)) {
+            // A request that is both malformed and for an unknown order may be rejected for either reason
+            if (status == 400 || (status == 404 && !knownOrder)) {
+                return null;
+            }
+            String invariant = amountsValid(fuzzCase) ? "business-rule-enforced" : "invalid-amount-rejected";
+            return new Violation(invariant, "expected 400, got " + status + " '" + message + "'");
+        }
+        if (!knownOrder) {
+            return status == 404 ? null
+                    : new Violation("unknown-order-rejected", "expected 404, got " + status + " '" + message + "'");
+        }
+        if (status == 400 && stateRejection(fuzzCase, message)) {
+            return null;
+        }
+        if (status != 200) {
+            return new Violation("valid-payload-accepted", "got " + status + " '" + message + "'");
+        }
+        return checkAccepted(fuzzCase, json.path("data"));
+    }
+
+    private static boolean requiredFieldMissing(FuzzCase fuzzCase) {
+        for (int slot = 0; slot < FuzzCase.REQUIRED; slot++) {
+            if (!fuzzCase.isTruthy(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Amounts and order totals must be positive, finite JSON numbers
+    private static boolean amountsValid(FuzzCase fuzzCase) {
+        return fuzzCase.isPositiveAmount(FuzzCase.AMOUNT)
+                && (fuzzCase.getEndpoint() == FuzzEndpoint.REFUND_TRIGGER || fuzzCase.isPositiveAmount(FuzzCase.DETAIL));
+    }
+
+    private boolean breaksBusinessRule(FuzzCase fuzzCase) {
+        double amount = fuzzCase.number(FuzzCase.AMOUNT);
+        switch (fuzzCase.getEndpoint()) {
+            case APPLY_POINTS:
+                // 1 point = 0.1 SAR, so points may cover at most 100% of the order total
+                return amount > Math.floor(fuzzCase.number(FuzzCase.DETAIL) * 10);
+            case USE_WALLET:
+                return amount < MINIMUM_WALLET_AMOUNT || amount > fuzzCase.number(FuzzCase.DETAIL);
+            default:
+                return amount > orders.totalOf(fuzzCase);
+        }
+    }
+
+    private static boolean stateRejection(FuzzCase fuzzCase, String message) {
+        switch (fuzzCase.getEndpoint()) {
+            case APPLY_POINTS:
+                return message.equals("Insufficient loyalty points")
+                        || (fuzzCase.isTruthy(FuzzCase.OPTION) && message.equals("Cannot use expired loyalty points"));
+            case USE_WALLET:
+                return message.equals("Insufficient wallet balance");
+            default:
+                return message.equals("Refund amount exceeds the amount left to refund");
+        }
+    }
+
+    private static Violation checkAccepted(FuzzCase fuzzCase, JsonNode data) {
+        if (!data.path("orderId").asText("").equals(fuzzCase.text(FuzzCase.ORDER_ID))) {
+            return new Violation("echo", "orderId " + data.path("orderId"));
+        }
+        double amount = fuzzCase.number(FuzzCase.AMOUNT);
+        double total = fuzzCase.number(FuzzCase.DETAIL);
+        switch (fuzzCase.getEndpoint()) {
+            case APPLY_POINTS:
+                if (!same(data.path("pointsApplied"), amount) || !same(data.path("discountAmount"), amount * 0.1)
+                        || !same(data.path("updatedOrderTotal"), total - amount * 0.1)) {
+                    return new Violation("arithmetic", "points " + amount + " on " + total + " gave " + data);
+                }
+                return firstOf(checkBalance(data), checkEcho(fuzzCase, data, FuzzCase.CURRENCY, "SAR"),
+                        checkEcho(fuzzCase, data, FuzzCase.REGION, "KSA"));
+            case USE_WALLET:
+                if (!same(data.path("walletAmountUsed"), amount) || !same(data.path("updatedOrderTotal"), total - amount)) {
+                    return new Violation("arithmetic", "wallet " + amount + " on " + total + " gave " + data);
+                }
+                if (data.path("transactionId").asText("").isEmpty()) {
+                    return new Violation("echo", "no transactionId in " + data);
+                }
+                return firstOf(checkBalance(data), checkEcho(fuzzCase, data, FuzzCase.CURRENCY, "SAR"),
+                        checkEcho(fuzzCase, data, FuzzCase.OPTION, "wallet"));
+            default:
+                if (!same(data.path("refundAmount"), amount) || !"processed".equals(data.path("status").asText())
+                        || data.path("refundId").asText("").isEmpty()) {
+                    return new Violation("arithmetic", "refund " + amount + " gave " + data);
+                }
+                return firstOf(checkEcho(fuzzCase, data, FuzzCase.CURRENCY, "SAR"),
+                        checkEcho(fuzzCase, data, FuzzCase.OPTION, "wallet"));
+        }
+    }
+
+    private static Violation checkBalance(JsonNode data) {
+        JsonNode remaining = data.path("remainingBalance");
+        if (!remaining.isNumber() || !Double.isFinite(remaining.doubleValue()) || remaining.doubleValue() < 0) {
+            return new Violation("balance-non-negative", "remainingBalance " + remaining);
+        }
+        return null;
+    }
+
+    // Optional fields come back as sent, or as the default when they were left out
+    private static Violation checkEcho(FuzzCase fuzzCase, JsonNode data, int slot, String defaultValue) {
+        String field = fuzzCase.getEndpoint().field(slot);
+        JsonNode node = data.path(field);
+        boolean echoed;
+        switch (fuzzCase.kind(slot)) {
+            case MISSING:
+                echoed = defaultValue.equals(node.textValue());
+                break;
+            case NULL:
+                echoed = node.isNull();
+                break;
+            case BOOLEAN:
+                echoed = node.isBoolean() && node.booleanValue() == fuzzCase.isTruthy(slot);
+                break;
+            case NUMBER:
+                echoed = same(node, fuzzCase.number(slot));
+                break;
+            case STRING:
+                echoed = fuzzCase.text(slot).equals(node.textValue());
+                break;
+            default:
+                // Literals such as 1e999 have no single expected echo
+                echoed = true;
+                break;
+        }
+        return echoed ? null : new Violation("echo", field + " came back as " + node);
+    }
+
+    private static boolean same(JsonNode node, double expected) {
+        if (!node.isNumber()) {
+            return false;
+        }
+        double actual = node.doubleValue();
+        return Math.abs(actual - expected) <= 1e-6 * Math.max(1, Math.max(Math.abs(actual), Math.abs(expected)));
+    }
+
+    private static Violation firstOf(Violation... violations) {
+        for (Violation violation : violations) {
+            if (violation != null) {
+                return violation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A broken invariant; the invariant name is what shrinking preserves and what failures are grouped by
+     */
+    public static final class Violation {
+        private final String invariant;
+        private final String detail;
+
+        public Violation(String invariant, String detail) {
+            this.invariant = invariant;
+            this.detail = detail;
+        }
+
+        public String getInvariant() {
+            return invariant;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return invariant + ": " + detail;
+        }
+    }
+}
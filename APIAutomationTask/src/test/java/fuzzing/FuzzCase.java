@@ -0,0 +1,219 @@
+package fuzzing;
+
+/**
+ * One generated request payload, held as a fixed set of field slots instead of a JSON tree
+ * Instances are mutable and reused by each fuzz worker; only failing cases are copied
+ */
+public final class FuzzCase {
+    public static final int ORDER_ID = 0;
+    public static final int AMOUNT = 1;
+    // orderTotal for apply-points and use-wallet, refundReason for refunds
+    public static final int DETAIL = 2;
+    // useExpiredPoints, paymentType or refundType
+    public static final int OPTION = 3;
+    public static final int CURRENCY = 4;
+    public static final int REGION = 5;
+    public static final int FIELDS = 6;
+    public static final int REQUIRED = 3;
+
+    public enum Kind {
+        MISSING, NULL, BOOLEAN, NUMBER, STRING,
+        // JSON literal written as is, for values a double cannot hold (1e999) or non-scalar values ([], {})
+        RAW
+    }
+
+    private FuzzEndpoint endpoint;
+    private int index;
+    private final Kind[] kinds = new Kind[FIELDS];
+    private final double[] numbers = new double[FIELDS];
+    private final String[] texts = new String[FIELDS];
+
+    public FuzzCase() {
+        reset(FuzzEndpoint.APPLY_POINTS, 0);
+    }
+
+    void reset(FuzzEndpoint endpoint, int index) {
+        this.endpoint = endpoint;
+        this.index = index;
+        for (int slot = 0; slot < FIELDS; slot++) {
+            missing(slot);
+        }
+    }
+
+    public FuzzCase copy() {
+        return new FuzzCase().copyFrom(this);
+    }
+
+    public FuzzCase copyFrom(FuzzCase other) {
+        endpoint = other.endpoint;
+        index = other.index;
+        System.arraycopy(other.kinds, 0, kinds, 0, FIELDS);
+        System.arraycopy(other.numbers, 0, numbers, 0, FIELDS);
+        System.arraycopy(other.texts, 0, texts, 0, FIELDS);
+        return this;
+    }
+
+    public FuzzEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Kind kind(int slot) {
+        return kinds[slot];
+    }
+
+    public double number(int slot) {
+        return numbers[slot];
+    }
+
+    public String text(int slot) {
+        return texts[slot];
+    }
+
+    void missing(int slot) {
+        set(slot, Kind.MISSING, 0, null);
+    }
+
+    void nullValue(int slot) {
+        set(slot, Kind.NULL, 0, null);
+    }
+
+    void bool(int slot, boolean value) {
+        set(slot, Kind.BOOLEAN, value ? 1 : 0, null);
+    }
+
+    void number(int slot, double value) {
+        set(slot, Kind.NUMBER, value, null);
+    }
+
+    void string(int slot, String value) {
+        set(slot, Kind.STRING, 0, value);
+    }
+
+    void raw(int slot, String literal) {
+        set(slot, Kind.RAW, 0, literal);
+    }
+
+    private void set(int slot, Kind kind, double number, String text) {
+        kinds[slot] = kind;
+        numbers[slot] = number;
+        texts[slot] = text;
+    }
+
+    // JavaScript truthiness of the parsed value: missing, null, false, 0 and "" are falsy; every RAW literal is truthy
+    public boolean isTruthy(int slot) {
+        switch (kinds[slot]) {
+            case BOOLEAN:
+            case NUMBER:
+                return numbers[slot] != 0;
+            case STRING:
+                return !texts[slot].isEmpty();
+            case RAW:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public boolean isPositiveAmount(int slot) {
+        return kinds[slot] == Kind.NUMBER && numbers[slot] > 0 && Double.isFinite(numbers[slot]);
+    }
+
+    /**
+     * Rough size of the payload, used by the Shrinker to only ever accept simpler cases
+     * Missing fields cost nothing, then null, booleans, small whole numbers, other numbers and strings by length
+     */
+    public int complexity() {
+        int complexity = 0;
+        for (int slot = 0; slot < FIELDS; slot++) {
+            switch (kinds[slot]) {
+                case NULL:
+                    complexity += 1;
+                    break;
+                case BOOLEAN:
+                    complexity += 2;
+                    break;
+                case NUMBER:
+                    double value = numbers[slot];
+                    complexity += 3 + (value < 0 ? 1 : 0) + (value == Math.rint(value) ? 0 : 2)
+                            + (int) Math.log10(Math.abs(value) + 1);
+                    break;
+                case STRING:
+                case RAW:
+                    complexity += 4 + texts[slot].length();
+                    break;
+                default:
+                    break;
+            }
+        }
+        return complexity;
+    }
+
+    public String toJson(StringBuilder buffer) {
+        buffer.setLength(0);
+        buffer.append('{');
+        boolean first = true;
+        for (int slot = 0; slot < FIELDS; slot++) {
+            if (kinds[slot] == Kind.MISSING) {
+                continue;
+            }
+            if (!first) {
+                buffer.append(',');
+            }
+            first = false;
+            appendString(buffer, endpoint.field(slot));
+            buffer.append(':');
+            appendValue(buffer, slot);
+        }
+        return buffer.append('}').toString();
+    }
+
+    private void appendValue(StringBuilder buffer, int slot) {
+        switch (kinds[slot]) {
+            case NULL:
+                buffer.append("null");
+                break;
+            case BOOLEAN:
+                buffer.append(numbers[slot] != 0);
+                break;
+            case NUMBER:
+                double value = numbers[slot];
+                // Whole numbers without a fraction, like JSON.stringify; -0 keeps its sign through Double.toString
+                if (value == Math.rint(value) && Math.abs(value) < 1e15 && Double.doubleToRawLongBits(value) != Long.MIN_VALUE) {
+                    buffer.append((long) value);
+                } else {
+                    buffer.append(value);
+                }
+                break;
+            case STRING:
+                appendString(buffer, texts[slot]);
+                break;
+            default:
+                buffer.append(texts[slot]);
+                break;
+        }
+    }
+
+    private static void appendString(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.append('\\').append(c);
+            } else if (c < 0x20) {
+                buffer.append(String.format("\\u%04x", (int) c));
+            } else {
+                buffer.append(c);
+            }
+        }
+        buffer.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return endpoint.getDisplayName() + " case " + index + " " + toJson(new StringBuilder());
+    }
+}
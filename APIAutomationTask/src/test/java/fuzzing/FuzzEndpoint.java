@@ -0,0 +1,43 @@
+package fuzzing;
+
+import io.restassured.response.Response;
+import testCases.CommonMethods;
+
+import java.io.IOException;
+
+/**
+ * Checkout endpoints the fuzzer generates payloads for, with the JSON field name of every FuzzCase slot
+ * The first FuzzCase.REQUIRED slots are the fields the API rejects as missing when they are falsy
+ */
+public enum FuzzEndpoint {
+    APPLY_POINTS("applyPoints", "orderId", "pointsToUse", "orderTotal", "useExpiredPoints", "currency", "region"),
+    USE_WALLET("useWallet", "orderId", "walletAmount", "orderTotal", "paymentType", "currency", "region"),
+    REFUND_TRIGGER("triggerRefund", "orderId", "refundAmount", "refundReason", "refundType", "currency", "region");
+
+    private final String displayName;
+    private final String[] fields;
+
+    FuzzEndpoint(String displayName, String... fields) {
+        this.displayName = displayName;
+        this.fields = fields;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String field(int slot) {
+        return fields[slot];
+    }
+
+    public Response send(CommonMethods commonMethods, String body) throws IOException {
+        switch (this) {
+            case APPLY_POINTS:
+                return commonMethods.applyPoints(body);
+            case USE_WALLET:
+                return commonMethods.useWallet(body);
+            default:
+                return commonMethods.triggerRefund(body);
+        }
+    }
+}
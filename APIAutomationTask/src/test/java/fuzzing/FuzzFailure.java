@@ -0,0 +1,53 @@
+package fuzzing;
+
+import fuzzing.CheckoutOracle.Violation;
+
+/**
+ * One broken invariant of a fuzz run: how often it broke, the first case that broke it and that case shrunk
+ */
+public class FuzzFailure {
+    private final String invariant;
+    private final long occurrences;
+    private final long seed;
+    private final FuzzCase original;
+    private final Violation originalViolation;
+    private final Shrinker.Result shrunk;
+
+    public FuzzFailure(String invariant, long occurrences, long seed, FuzzCase original, Violation originalViolation,
+                       Shrinker.Result shrunk) {
+        this.invariant = invariant;
+        this.occurrences = occurrences;
+        this.seed = seed;
+        this.original = original;
+        this.originalViolation = originalViolation;
+        this.shrunk = shrunk;
+    }
+
+    public String getInvariant() {
+        return invariant;
+    }
+
+    public long getOccurrences() {
+        return occurrences;
+    }
+
+    public FuzzCase getOriginal() {
+        return original;
+    }
+
+    public FuzzCase getMinimal() {
+        return shrunk.getMinimal();
+    }
+
+    @Override
+    public String toString() {
+        String newLine = System.lineSeparator();
+        return invariant + " broken by " + occurrences + " cases" + newLine
+                + "    first:   " + original + newLine
+                + "             " + originalViolation.getDetail() + newLine
+                + "    minimal: " + shrunk.getMinimal().toJson(new StringBuilder())
+                + " (" + shrunk.getAttempts() + " shrink probes)" + newLine
+                + "             " + shrunk.getViolation().getDetail() + newLine
+                + "    replay:  -Dfuzz.seed=" + seed + " -Dfuzz.case=" + original.getIndex();
+    }
+}
@@ -0,0 +1,50 @@
+package fuzzing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Orders created on the target before fuzzing, with totals on and around the checkout boundaries
+ * Order IDs carry a run ID so a long-running mock server never mixes the orders of two runs
+ */
+public final class FuzzOrders {
+    private static final double[] TOTALS = {0.01, 1, 9.99, 10, 10.01, 75.5, 150, 299, 1000.5, 999_999.99};
+
+    private final String[] ids;
+    private final double[] totals;
+    private final Map<String, Double> totalById = new HashMap<>();
+
+    private FuzzOrders(String runId) {
+        ids = new String[TOTALS.length];
+        totals = TOTALS.clone();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "order_fuzz_" + runId + "_" + i;
+            totalById.put(ids[i], totals[i]);
+        }
+    }
+
+    public static FuzzOrders create(String runId) {
+        return new FuzzOrders(runId);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String id(int i) {
+        return ids[i];
+    }
+
+    public double total(int i) {
+        return totals[i];
+    }
+
+    // Total of the order, or NaN when the case does not name one of these orders
+    public double totalOf(FuzzCase fuzzCase) {
+        if (fuzzCase.kind(FuzzCase.ORDER_ID) != FuzzCase.Kind.STRING) {
+            return Double.NaN;
+        }
+        Double total = totalById.get(fuzzCase.text(FuzzCase.ORDER_ID));
+        return total == null ? Double.NaN : total;
+    }
+}
@@ -0,0 +1,70 @@
+package fuzzing;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of fuzzing one endpoint: status codes seen, transport errors and every broken invariant
+ */
+public class FuzzReport {
+    private final FuzzEndpoint endpoint;
+    private final long seed;
+    private final int cases;
+    private final Duration elapsed;
+    private final Map<Integer, Long> statusCodes;
+    private final long transportErrors;
+    private final String firstTransportError;
+    private final List<FuzzFailure> failures;
+
+    public FuzzReport(FuzzEndpoint endpoint, long seed, int cases, Duration elapsed, Map<Integer, Long> statusCodes,
+                      long transportErrors, String firstTransportError, List<FuzzFailure> failures) {
+        this.endpoint = endpoint;
+        this.seed = seed;
+        this.cases = cases;
+        this.elapsed = elapsed;
+        this.statusCodes = Collections.unmodifiableMap(statusCodes);
+        this.transportErrors = transportErrors;
+        this.firstTransportError = firstTransportError;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public FuzzEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public int getCases() {
+        return cases;
+    }
+
+    public Map<Integer, Long> getStatusCodes() {
+        return statusCodes;
+    }
+
+    public long getTransportErrors() {
+        return transportErrors;
+    }
+
+    public String getFirstTransportError() {
+        return firstTransportError;
+    }
+
+    public List<FuzzFailure> getFailures() {
+        return failures;
+    }
+
+    public double getCasesPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? cases / seconds : 0;
+    }
+
+    public void print() {
+        System.out.println("----------------------------------------");
+        System.out.printf("%s fuzz: %d cases in %.1fs (%.0f cases/s), seed %d%n",
+                endpoint.getDisplayName(), cases, elapsed.toNanos() / 1_000_000_000.0, getCasesPerSecond(), seed);
+        System.out.println("  status codes: " + statusCodes + (transportErrors > 0
+                ? ", " + transportErrors + " transport errors (first: " + firstTransportError + ")" : ""));
+        failures.forEach(failure -> System.out.println("  FAILED " + failure));
+    }
+}
@@ -0,0 +1,111 @@
+package fuzzing;
+
+import fuzzing.CheckoutOracle.Violation;
+import io.restassured.response.Response;
+import testCases.CommonMethods;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends generated payloads from a fixed number of virtual-thread workers and checks every response with the oracle
+ * Workers take case numbers from a shared counter and reuse one FuzzCase and buffer each; after the run, the
+ * lowest-numbered failing case of every broken invariant is shrunk one probe at a time
+ */
+public class FuzzRunner {
+    private final CommonMethods commonMethods;
+    private final FuzzOrders orders;
+    private final CheckoutOracle oracle;
+    private final Shrinker shrinker;
+    private final long seed;
+    private final int parallelism;
+
+    public FuzzRunner(CommonMethods commonMethods, FuzzOrders orders, long seed, int parallelism, int shrinkAttempts) {
+        this.commonMethods = commonMethods;
+        this.orders = orders;
+        this.oracle = new CheckoutOracle(orders);
+        this.shrinker = new Shrinker(shrinkAttempts);
+        this.seed = seed;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs cases firstCase to firstCase + cases - 1 of the seed against the endpoint
+     */
+    public FuzzReport run(FuzzEndpoint endpoint, int firstCase, int cases) {
+        AtomicInteger next = new AtomicInteger(firstCase);
+        int end = firstCase + cases;
+        Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        LongAdder transportErrors = new LongAdder();
+        AtomicReference<String> firstTransportError = new AtomicReference<>();
+        Map<String, LongAdder> occurrences = new ConcurrentHashMap<>();
+        Map<String, Found> firstFailures = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < parallelism; worker++) {
+                executor.submit(() -> {
+                    PayloadGenerator generator = new PayloadGenerator(seed, orders);
+                    FuzzCase fuzzCase = new FuzzCase();
+                    StringBuilder buffer = new StringBuilder(256);
+                    for (int index = next.getAndIncrement(); index < end; index = next.getAndIncrement()) {
+                        generator.generate(endpoint, index, fuzzCase);
+                        try {
+                            Response response = endpoint.send(commonMethods, fuzzCase.toJson(buffer));
+                            statusCodes.computeIfAbsent(response.getStatusCode(), code -> new LongAdder()).increment();
+                            Violation violation = oracle.check(fuzzCase, response.getStatusCode(), response.asByteArray());
+                            if (violation != null) {
+                                occurrences.computeIfAbsent(violation.getInvariant(), invariant -> new LongAdder()).increment();
+                                // Copy the reused case only when it becomes the lowest-numbered failure of its invariant
+                                firstFailures.compute(violation.getInvariant(), (invariant, found) ->
+                                        found == null || fuzzCase.getIndex() < found.fuzzCase.getIndex()
+                                                ? new Found(fuzzCase.copy(), violation) : found);
+                            }
+                        } catch (Exception e) {
+                            transportErrors.increment();
+                            firstTransportError.compareAndSet(null, fuzzCase + ": " + e);
+                        }
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<FuzzFailure> failures = new ArrayList<>();
+        new TreeMap<>(firstFailures).forEach((invariant, found) -> failures.add(new FuzzFailure(invariant,
+                occurrences.get(invariant).sum(), seed, found.fuzzCase, found.violation,
+                shrinker.shrink(found.fuzzCase, found.violation, candidate -> probe(endpoint, candidate)))));
+        Map<Integer, Long> codes = new TreeMap<>();
+        statusCodes.forEach((code, count) -> codes.put(code, count.sum()));
+        return new FuzzReport(endpoint, seed, cases, elapsed, codes, transportErrors.sum(), firstTransportError.get(), failures);
+    }
+
+    // A shrink candidate that cannot be sent counts as passing, so shrinking never ends on a transport error
+    private Violation probe(FuzzEndpoint endpoint, FuzzCase candidate) {
+        try {
+            Response response = endpoint.send(commonMethods, candidate.toJson(new StringBuilder()));
+            return oracle.check(candidate, response.getStatusCode(), response.asByteArray());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static final class Found {
+        private final FuzzCase fuzzCase;
+        private final Violation violation;
+
+        private Found(FuzzCase fuzzCase, Violation violation) {
+            this.fuzzCase = fuzzCase;
+            this.violation = violation;
+        }
+    }
+}
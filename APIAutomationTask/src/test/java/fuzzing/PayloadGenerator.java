@@ -0,0 +1,318 @@
+package fuzzing;
+
+/**
+ * Generates checkout payloads: a valid request with zero to three fields replaced by boundary or malformed values
+ * Case n of a seed is always the same payload, so any case can be replayed with -Dfuzz.seed and -Dfuzz.case
+ * Fills a reused FuzzCase and reseeds its random state in place; not thread-safe, so use one instance per worker
+ */
+public class PayloadGenerator {
+    // SplitMix64, the algorithm behind SplittableRandom, kept inline so every case reseeds it without a new object
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final String[] CURRENCIES = {"SAR", "AED", "KWD", "QAR", "BHD", "OMR"};
+    private static final String[] REGIONS = {"KSA", "UAE", "KWT", "QAT", "BHR", "OMN"};
+    private static final String[] ODD_CODES = {"", "USD", "sar", "ksa", "SAR ", "ر.س", "SAR\"; DROP", "\u0000"};
+    private static final String[] REFUND_REASONS = {"Customer requested return", "Damaged item", "Wrong size", "Late delivery"};
+    private static final String[] REFUND_TYPES = {"wallet", "original_payment"};
+    private static final String[] ODD_REFUND_TYPES = {"", "WALLET", "store_credit", " wallet"};
+    private static final String[] PAYMENT_TYPES = {"wallet", "partial"};
+    private static final String[] RAW_LITERALS = {"1e999", "-1e999", "[]", "{}", "[1]"};
+    private static final String[] ODD_ORDER_IDS = {"order_unknown", "ORDER_12345", " order_12345", "order_\"quoted\"\\", "طلب_1"};
+    private static final String LONG_TEXT = "x".repeat(4096);
+
+    private final long seed;
+    private final FuzzOrders orders;
+    private long state;
+
+    public PayloadGenerator(long seed, FuzzOrders orders) {
+        this.seed = seed;
+        this.orders = orders;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void generate(FuzzEndpoint endpoint, int index, FuzzCase target) {
+        state = mix64(seed + mix64(((long) endpoint.ordinal() << 32 | index) * GOLDEN_GAMMA));
+        target.reset(endpoint, index);
+        switch (endpoint) {
+            case APPLY_POINTS:
+                validApplyPoints(target);
+                break;
+            case USE_WALLET:
+                validUseWallet(target);
+                break;
+            default:
+                validRefund(target);
+                break;
+        }
+        if (chance(0.7)) {
+            target.string(FuzzCase.CURRENCY, pick(CURRENCIES));
+        }
+        if (chance(0.7)) {
+            target.string(FuzzCase.REGION, pick(REGIONS));
+        }
+
+        double roll = nextDouble();
+        int mutations = roll < 0.3 ? 0 : roll < 0.75 ? 1 : roll < 0.92 ? 2 : 3;
+        for (int i = 0; i < mutations; i++) {
+            mutate(target, nextInt(FuzzCase.FIELDS));
+        }
+    }
+
+    private void validApplyPoints(FuzzCase target) {
+        double total = cents(10, 2000);
+        target.string(FuzzCase.ORDER_ID, orders.id(nextInt(orders.size())));
+        // Small valid spends, so the points last long enough for many accepted cases
+        target.number(FuzzCase.AMOUNT, 1 + nextInt(20));
+        target.number(FuzzCase.DETAIL, total);
+        if (chance(0.3)) {
+            target.bool(FuzzCase.OPTION, false);
+        }
+    }
+
+    private void validUseWallet(FuzzCase target) {
+        double total = cents(10, 2000);
+        target.string(FuzzCase.ORDER_ID, orders.id(nextInt(orders.size())));
+        target.number(FuzzCase.AMOUNT, cents(10, 15));
+        target.number(FuzzCase.DETAIL, total);
+        if (chance(0.5)) {
+            target.string(FuzzCase.OPTION, pick(PAYMENT_TYPES));
+        }
+    }
+
+    private void validRefund(FuzzCase target) {
+        int order = nextInt(orders.size());
+        target.string(FuzzCase.ORDER_ID, orders.id(order));
+        target.number(FuzzCase.AMOUNT, cents(0.01, Math.min(orders.total(order), 50)));
+        target.string(FuzzCase.DETAIL, pick(REFUND_REASONS));
+        if (chance(0.7)) {
+            target.string(FuzzCase.OPTION, pick(REFUND_TYPES));
+        }
+    }
+
+    private void mutate(FuzzCase target, int slot) {
+        switch (slot) {
+            case FuzzCase.ORDER_ID:
+                mutateOrderId(target);
+                break;
+            case FuzzCase.AMOUNT:
+                if (chance(0.5)) {
+                    boundaryAmount(target);
+                } else {
+                    oddNumber(target, FuzzCase.AMOUNT);
+                }
+                break;
+            case FuzzCase.DETAIL:
+                if (target.getEndpoint() == FuzzEndpoint.REFUND_TRIGGER) {
+                    oddText(target, FuzzCase.DETAIL);
+                } else if (chance(0.5)) {
+                    boundaryOrderTotal(target);
+                } else {
+                    oddNumber(target, FuzzCase.DETAIL);
+                }
+                break;
+            case FuzzCase.OPTION:
+                mutateOption(target);
+                break;
+            default:
+                oddText(target, slot);
+                break;
+        }
+    }
+
+    private void mutateOrderId(FuzzCase target) {
+        switch (nextInt(7)) {
+            case 0:
+                target.string(FuzzCase.ORDER_ID, orders.id(nextInt(orders.size())));
+                break;
+            case 1:
+                target.string(FuzzCase.ORDER_ID, pick(ODD_ORDER_IDS));
+                break;
+            case 2:
+                target.number(FuzzCase.ORDER_ID, 12345);
+                break;
+            case 3:
+                target.raw(FuzzCase.ORDER_ID, pick(RAW_LITERALS));
+                break;
+            case 4:
+                target.string(FuzzCase.ORDER_ID, chance(0.5) ? "" : LONG_TEXT);
+                break;
+            case 5:
+                target.nullValue(FuzzCase.ORDER_ID);
+                break;
+            default:
+                target.missing(FuzzCase.ORDER_ID);
+                break;
+        }
+    }
+
+    // Values on either side of the endpoint's own limits
+    private void boundaryAmount(FuzzCase target) {
+        double total = target.isPositiveAmount(FuzzCase.DETAIL) ? target.number(FuzzCase.DETAIL) : 299;
+        switch (target.getEndpoint()) {
+            case APPLY_POINTS:
+                // Capped so a 1e308 order total cannot turn the boundary into Infinity, which JSON cannot carry
+                double maxPoints = Math.min(Math.floor(total * 10), Double.MAX_VALUE);
+                double[] points = {maxPoints, maxPoints + 1, 1500, 1501, 1, 0.5, 99.99};
+                target.number(FuzzCase.AMOUNT, points[nextInt(points.length)]);
+                break;
+            case USE_WALLET:
+                double[] amounts = {9.99, 10, 10.01, total, total + 0.01, total - 0.01, 250.5, 250.51};
+                target.number(FuzzCase.AMOUNT, amounts[nextInt(amounts.length)]);
+                break;
+            default:
+                double orderTotal = orders.totalOf(target);
+                double refundTotal = Double.isNaN(orderTotal) ? 299 : orderTotal;
+                double[] refunds = {refundTotal, refundTotal + 0.01, refundTotal - 0.01, refundTotal / 2, 0.01};
+                target.number(FuzzCase.AMOUNT, refunds[nextInt(refunds.length)]);
+                break;
+        }
+    }
+
+    // Order totals just around the amount already in the payload
+    private void boundaryOrderTotal(FuzzCase target) {
+        double amount = target.isPositiveAmount(FuzzCase.AMOUNT) ? target.number(FuzzCase.AMOUNT) : 100;
+        double[] totals = target.getEndpoint() == FuzzEndpoint.APPLY_POINTS
+                ? new double[]{amount / 10, amount / 10 - 0.01, amount / 10 + 0.01, 0.01}
+                : new double[]{amount, amount - 0.01, amount + 0.01, 0.01};
+        target.number(FuzzCase.DETAIL, totals[nextInt(totals.length)]);
+    }
+
+    private void oddNumber(FuzzCase target, int slot) {
+        switch (nextInt(12)) {
+            case 0:
+                target.number(slot, 0);
+                break;
+            case 1:
+                target.number(slot, -0.0);
+                break;
+            case 2:
+                target.number(slot, -cents(0.01, 500));
+                break;
+            case 3:
+                target.number(slot, chance(0.5) ? 0.001 : 0.005);
+                break;
+            case 4:
+                double[] huge = {1e12, 9.223372036854776E18, 1e308};
+                target.number(slot, huge[nextInt(huge.length)]);
+                break;
+            case 5:
+                target.raw(slot, pick(RAW_LITERALS));
+                break;
+            case 6:
+                target.string(slot, chance(0.5) ? "100" : "50.5");
+                break;
+            case 7:
+                target.string(slot, chance(0.5) ? "abc" : "");
+                break;
+            case 8:
+                target.bool(slot, chance(0.5));
+                break;
+            case 9:
+                target.nullValue(slot);
+                break;
+            case 10:
+                target.missing(slot);
+                break;
+            default:
+                target.number(slot, cents(0.01, 100_000));
+                break;
+        }
+    }
+
+    private void oddText(FuzzCase target, int slot) {
+        switch (nextInt(8)) {
+            case 0:
+                target.string(slot, pick(ODD_CODES));
+                break;
+            case 1:
+                target.string(slot, LONG_TEXT);
+                break;
+            case 2:
+                target.number(slot, 123);
+                break;
+            case 3:
+                target.bool(slot, chance(0.5));
+                break;
+            case 4:
+                target.raw(slot, chance(0.5) ? "[]" : "{}");
+                break;
+            case 5:
+                target.nullValue(slot);
+                break;
+            case 6:
+                target.missing(slot);
+                break;
+            default:
+                target.string(slot, slot == FuzzCase.REGION ? pick(REGIONS) : pick(CURRENCIES));
+                break;
+        }
+    }
+
+    private void mutateOption(FuzzCase target) {
+        switch (target.getEndpoint()) {
+            case APPLY_POINTS:
+                switch (nextInt(5)) {
+                    case 0:
+                        target.bool(FuzzCase.OPTION, true);
+                        break;
+                    case 1:
+                        target.string(FuzzCase.OPTION, "yes");
+                        break;
+                    case 2:
+                        target.number(FuzzCase.OPTION, nextInt(2));
+                        break;
+                    case 3:
+                        target.nullValue(FuzzCase.OPTION);
+                        break;
+                    default:
+                        target.missing(FuzzCase.OPTION);
+                        break;
+                }
+                break;
+            case REFUND_TRIGGER:
+                if (chance(0.5)) {
+                    target.string(FuzzCase.OPTION, pick(ODD_REFUND_TYPES));
+                } else {
+                    oddText(target, FuzzCase.OPTION);
+                }
+                break;
+            default:
+                oddText(target, FuzzCase.OPTION);
+                break;
+        }
+    }
+
+    private double cents(double min, double max) {
+        return Math.max(min, Math.round((min + nextDouble() * (max - min)) * 100) / 100.0);
+    }
+
+    private boolean chance(double probability) {
+        return nextDouble() < probability;
+    }
+
+    private String pick(String[] values) {
+        return values[nextInt(values.length)];
+    }
+
+    private int nextInt(int bound) {
+        return (int) ((nextLong() >>> 1) % bound);
+    }
+
+    private double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    private long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
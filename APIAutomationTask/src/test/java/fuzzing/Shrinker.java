@@ -0,0 +1,115 @@
+package fuzzing;
+
+import fuzzing.CheckoutOracle.Violation;
+
+import java.util.function.Function;
+
+/**
+ * Reduces a failing case to a minimal one that still breaks the same invariant
+ * Greedily tries dropping each field, nulling it and simplifying its value, keeps any change that makes the case
+ * simpler (FuzzCase.complexity) and still fails, and stops when nothing helps or the attempt budget is spent
+ */
+public class Shrinker {
+    // Number of ways simplify can change one field
+    private static final int OPTIONS = 8;
+
+    private final int maxAttempts;
+
+    public Shrinker(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param probe sends a case to the target and returns the violation it causes, or null when it passes
+     */
+    public Result shrink(FuzzCase failing, Violation violation, Function<FuzzCase, Violation> probe) {
+        FuzzCase current = failing.copy();
+        FuzzCase candidate = new FuzzCase();
+        Violation currentViolation = violation;
+        int attempts = 0;
+        boolean progress = true;
+        while (progress && attempts < maxAttempts) {
+            progress = false;
+            for (int slot = 0; slot < FuzzCase.FIELDS && !progress; slot++) {
+                for (int option = 0; option < OPTIONS && attempts < maxAttempts; option++) {
+                    if (!simplify(candidate.copyFrom(current), slot, option) || candidate.complexity() >= current.complexity()) {
+                        continue;
+                    }
+                    attempts++;
+                    Violation candidateViolation = probe.apply(candidate);
+                    if (candidateViolation != null && candidateViolation.getInvariant().equals(violation.getInvariant())) {
+                        current.copyFrom(candidate);
+                        currentViolation = candidateViolation;
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return new Result(current, currentViolation, attempts);
+    }
+
+    // Applies simplification number option to the slot; false when it does not apply to the slot's value
+    private static boolean simplify(FuzzCase fuzzCase, int slot, int option) {
+        FuzzCase.Kind kind = fuzzCase.kind(slot);
+        double number = fuzzCase.number(slot);
+        String text = fuzzCase.text(slot);
+        switch (option) {
+            case 0:
+                fuzzCase.missing(slot);
+                return kind != FuzzCase.Kind.MISSING;
+            case 1:
+                fuzzCase.nullValue(slot);
+                return kind != FuzzCase.Kind.MISSING && kind != FuzzCase.Kind.NULL;
+            case 2:
+                fuzzCase.number(slot, 0);
+                return kind == FuzzCase.Kind.NUMBER;
+            case 3:
+                fuzzCase.number(slot, Math.signum(number));
+                return kind == FuzzCase.Kind.NUMBER;
+            case 4:
+                // Halve towards zero, on whole cents so the minimal case stays readable
+                fuzzCase.number(slot, Math.round(number * 50) / 100.0);
+                return kind == FuzzCase.Kind.NUMBER;
+            case 5:
+                fuzzCase.number(slot, number < 0 ? Math.ceil(number) : Math.floor(number));
+                return kind == FuzzCase.Kind.NUMBER;
+            case 6:
+                fuzzCase.string(slot, "");
+                return kind == FuzzCase.Kind.STRING;
+            default:
+                if (kind != FuzzCase.Kind.STRING) {
+                    return false;
+                }
+                fuzzCase.string(slot, text.substring(0, text.length() / 2));
+                return true;
+        }
+    }
+
+    /**
+     * The smallest failing case found, the violation it caused and how many probes it took
+     */
+    public static final class Result {
+        private final FuzzCase minimal;
+        private final Violation violation;
+        private final int attempts;
+
+        private Result(FuzzCase minimal, Violation violation, int attempts) {
+            this.minimal = minimal;
+            this.violation = violation;
+            this.attempts = attempts;
+        }
+
+        public FuzzCase getMinimal() {
+            return minimal;
+        }
+
+        public Violation getViolation() {
+            return violation;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+    }
+}
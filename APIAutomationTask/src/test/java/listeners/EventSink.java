@@ -0,0 +1,151 @@
+package listeners;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import utils.ConfigurationManager;
+import utils.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous sink for TestEvents
+ * Publishing only enqueues on a lock-free queue; a background writer appends each event as one JSON line to
+ * testEventsFile (default target/test-events.jsonl) and prints a condensed line to the console
+ */
+public final class EventSink {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final ConcurrentLinkedQueue<TestEvent> queue = new ConcurrentLinkedQueue<>();
+    private final Path file;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private EventSink(Path file) {
+        this.file = file;
+        this.writer = new Thread(this::drainLoop, "test-event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "test-event-writer-stop"));
+    }
+
+    public static EventSink global() {
+        return Holder.INSTANCE;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void publish(TestEvent event) {
+        if (!closed) {
+            queue.offer(event);
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Stops accepting events and waits until everything queued so far is written
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                while (true) {
+                    boolean wrote = false;
+                    TestEvent event;
+                    while ((event = queue.poll()) != null) {
+                        out.write(toJson(event));
+                        out.newLine();
+                        printSummary(event);
+                        wrote = true;
+                    }
+                    if (wrote) {
+                        out.flush();
+                    }
+                    if (closed && queue.isEmpty()) {
+                        return;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write test events to " + file, e);
+        }
+    }
+
+    private static String toJson(TestEvent event) throws IOException {
+        ObjectNode node = JsonMapper.mapper().createObjectNode();
+        node.put("type", event.getType());
+        node.put("timestamp", event.getTimestamp().toString());
+        node.put("thread", event.getThread());
+        for (Map.Entry<String, Object> field : event.getFields().entrySet()) {
+            node.set(field.getKey(), JsonMapper.mapper().valueToTree(field.getValue()));
+        }
+        return JsonMapper.mapper().writeValueAsString(node);
+    }
+
+    // Condensed console view: one line per finished test, full detail only for failures and totals
+    private static void printSummary(TestEvent event) {
+        switch (event.getType()) {
+            case "executionStart":
+                System.out.println("========================================");
+                System.out.println("    Golden Scent API Test Framework");
+                System.out.println("========================================");
+                break;
+            case "testStart":
+                System.out.println("Test " + event.get("testName") + " of " + event.get("suite") + ": " + event.get("total") + " tests");
+                break;
+            case "testPassed":
+                System.out.println("✅ PASSED  " + event.get("test") + " (" + event.get("durationMs") + "ms)");
+                break;
+            case "testFailed":
+                System.out.println("❌ FAILED  " + event.get("test") + " (" + event.get("durationMs") + "ms)"
+                        + (event.get("exception") == null ? "" : ": " + event.get("exception") + ": " + event.get("error")));
+                if (event.get("responseStatus") != null) {
+                    System.out.println("   API Response " + event.get("responseStatus") + ": " + event.get("responseBody"));
+                }
+                break;
+            case "testSkipped":
+                System.out.println("⏭️  SKIPPED " + event.get("test"));
+                break;
+            case "httpExchanges":
+                System.out.println("HTTP exchanges of failed test " + event.get("test") + ":" + System.lineSeparator() + event.get("log"));
+                break;
+            case "testFinish":
+                System.out.println("========================================");
+                System.out.println("Test " + event.get("testName") + " of " + event.get("suite") + ": passed=" + event.get("passed") + " failed=" + event.get("failed")
+                        + " skipped=" + event.get("skipped") + " total=" + event.get("total") + " (" + event.get("durationMs") + "ms)");
+                System.out.println("========================================");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static final class Holder {
+        private static final EventSink INSTANCE = new EventSink(Paths.get(
+                ConfigurationManager.current().getString("testEventsFile", "target/test-events.jsonl")));
+    }
+}
@@ -0,0 +1,48 @@
+package listeners;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One test lifecycle event published by TestNGListener
+ * Holds plain values only; formatting and serialization happen later on the EventSink writer thread
+ */
+public class TestEvent {
+    private final String type;
+    private final Instant timestamp = Instant.now();
+    private final String thread = Thread.currentThread().getName();
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+
+    public TestEvent(String type) {
+        this.type = type;
+    }
+
+    public TestEvent with(String name, Object value) {
+        if (value != null) {
+            fields.put(name, value);
+        }
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public Object get(String name) {
+        return fields.get(name);
+    }
+
+    public Map<String, Object> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+}
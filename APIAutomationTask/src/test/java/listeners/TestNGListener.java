@@ -1,126 +1,267 @@
 package listeners;
 
+import connection.ConnectionPool;
+import io.qameta.allure.Allure;
+import logging.ExchangeLog;
+import logging.ResponseRegistry;
+import metrics.MetricsRegistry;
 import org.testng.*;
-import io.restassured.response.Response;
-import java.io.IOException;
-import java.lang.reflect.Field;
+import org.testng.xml.XmlSuite;
+import reporting.AllureReportGenerator;
+import reporting.AllureResultsInstaller;
+import sharding.ShardSelector;
+import sharding.TestDurationStore;
+import testCases.SuiteWarmUp;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * TestNG Listener for Golden Scent API Test Framework
  * Handles test execution events and automatic report generation
+ * Lifecycle events are published to the EventSink, so test threads never block on console output
+ * Test durations are kept in the shard history, from which sharded runs (-Dshard.index/-Dshard.count) are planned
+ * Each suite starts with a warm-up of every endpoint (SuiteWarmUp) whose calls no latency assertion sees
  */
-public class TestNGListener implements ITestListener, IExecutionListener, IAlterSuiteListener {
+public class TestNGListener implements ITestListener, ISuiteListener, IExecutionListener, IAlterSuiteListener, IInvokedMethodListener, IMethodInterceptor {
+    private final EventSink events = EventSink.global();
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private volatile Instant executionStart = Instant.now();
+
+    // Parallel mode and thread count can be overridden with -Dsuite.parallel=methods|classes|none and -Dsuite.threads=N
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = System.getProperty("suite.parallel");
+        for (XmlSuite suite : suites) {
+            if (parallel != null) {
+                suite.setParallel(XmlSuite.ParallelMode.getValidParallel(parallel));
+            }
+            if (suite.getParallel() != XmlSuite.ParallelMode.NONE) {
+                suite.setThreadCount(Integer.getInteger("suite.threads", Runtime.getRuntime().availableProcessors()));
+            }
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        return ShardSelector.select(methods, context);
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        SuiteWarmUp.run();
+    }
 
     @Override
     public void onExecutionStart() {
-        System.out.println("========================================");
-        System.out.println("    Golden Scent API Test Framework");
-        System.out.println("========================================");
-        System.out.println("Starting test execution...");
-        System.out.println();
+        executionStart = Instant.now();
+        events.publish(new TestEvent("executionStart"));
     }
 
     @Override
     public void onExecutionFinish() {
+        events.publish(new TestEvent("executionFinish")
+                .with("connectionPool", ConnectionPool.stats().toString()));
+        events.close();
+
         System.out.println();
         System.out.println("========================================");
         System.out.println("    Test Execution Complete");
         System.out.println("========================================");
-        System.out.println("Generating Allure Report...");
-        
-        try {
-            System.out.println("Opening Allure Report...");
-            Runtime.getRuntime().exec("reportGeneration.bat");
-            System.out.println("Allure report opened successfully!");
-        } catch (IOException e) {
-            System.err.println("Unable to open Allure Report: " + e.getMessage());
-            System.err.println("Please run 'reportGeneration.bat' manually to view the report.");
-        }
+        System.out.println("Connection pool: " + ConnectionPool.stats());
+        System.out.println("Test events: " + events.getFile().toAbsolutePath());
+        writeMetrics();
+        writeDurations();
+        AllureResultsInstaller.flush();
+        System.out.println("Allure results: " + AllureResultsInstaller.stats());
+        generateAllureReport();
         
         System.out.println("========================================");
         System.out.println("    End of Execution");
         System.out.println("========================================");
     }
 
+    // Prometheus text file for the node exporter textfile collector or any scraper reading files
+    private void writeMetrics() {
+        Path file = Paths.get(ConfigurationManager.current().getString("metricsFile", "target/metrics.prom"));
+        try {
+            MetricsRegistry.global().writePrometheus(file);
+            System.out.println("Metrics: " + file.toAbsolutePath());
+        } catch (UncheckedIOException e) {
+            System.err.println("Unable to write metrics: " + e.getMessage());
+        }
+    }
+
+    // One history line per run or shard; forks of a sharded run share shard.runId
+    private void writeDurations() {
+        if (durations.isEmpty()) {
+            return;
+        }
+        TestDurationStore store = new TestDurationStore(Paths.get(ConfigurationManager.current()
+                .getString("shardHistoryFile", "perf-baseline/test-durations.jsonl")));
+        String runId = System.getProperty("shard.runId", "");
+        try {
+            store.append(runId.isEmpty() ? UUID.randomUUID().toString() : runId, durations);
+            System.out.println("Test durations: " + store.getFile().toAbsolutePath());
+        } catch (UncheckedIOException e) {
+            System.err.println("Unable to write test durations: " + e.getMessage());
+        }
+    }
+
+    // Generates the report from this run's results in the background; the JVM waits for it before exiting
+    private void generateAllureReport() {
+        ConfigSnapshot config = ConfigurationManager.current();
+        if (!config.getBoolean("allureReport", true)) {
+            return;
+        }
+        System.out.println("Generating Allure Report in the background: " + AllureReportGenerator.reportDirectory().toAbsolutePath());
+        CompletableFuture<Path> report = AllureReportGenerator.generateInBackground(executionStart);
+        report.whenComplete((path, error) -> {
+            if (error != null) {
+                System.err.println("Unable to generate Allure Report: " + error.getMessage());
+            } else {
+                System.out.println("Allure report generated: " + path.toAbsolutePath());
+            }
+        });
+        long timeoutSeconds = config.getLong("allureReportTimeoutSeconds", 120);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                report.get(timeoutSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                System.err.println("Allure report generation did not finish within " + timeoutSeconds + "s");
+            } catch (Exception ignored) {
+                // already reported by whenComplete
+            }
+        }, "allure-report-wait"));
+    }
+
+    // Runs on the test thread before the result listeners, while the Allure test case is still open
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        if (result.getStatus() != ITestResult.FAILURE) {
+            ExchangeLog.clear();
+            return;
+        }
+        List<String> exchanges = ExchangeLog.drain();
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        String separator = System.lineSeparator() + "----------------------------------------" + System.lineSeparator();
+        String log = String.join(separator, exchanges);
+        events.publish(new TestEvent("httpExchanges")
+                .with("test", result.getName())
+                .with("log", log));
+        Allure.addAttachment("HTTP exchanges", "text/plain", log, ".txt");
+    }
+
     @Override
     public void onTestStart(ITestResult result) {
-        System.out.println();
-        System.out.println(" Starting Test: " + result.getName());
-        System.out.println("   Class: " + result.getTestClass().getName());
-        System.out.println("   Method: " + result.getMethod().getMethodName());
-        System.out.println("   Description: " + result.getMethod().getDescription());
-        System.out.println("----------------------------------------");
+        ExchangeLog.clear();
+        ResponseRegistry.clear();
+        events.publish(testEvent("testStarted", result)
+                .with("description", result.getMethod().getDescription()));
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("✅ Test PASSED: " + result.getName());
-        System.out.println("   Duration: " + (result.getEndMillis() - result.getStartMillis()) + "ms");
-        System.out.println("----------------------------------------");
+        recordDuration(result);
+        events.publish(testEvent("testPassed", result)
+                .with("durationMs", durationOf(result)));
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("❌ Test FAILED: " + result.getName());
-        System.out.println("   Duration: " + (result.getEndMillis() - result.getStartMillis()) + "ms");
+        recordDuration(result);
+        TestEvent event = testEvent("testFailed", result)
+                .with("durationMs", durationOf(result));
         
         // Log exception details for debugging
         Throwable throwable = result.getThrowable();
         if (throwable != null) {
-            System.err.println("   Error: " + throwable.getMessage());
-            System.err.println("   Exception: " + throwable.getClass().getSimpleName());
+            event.with("error", throwable.getMessage())
+                    .with("exception", throwable.getClass().getSimpleName());
         }
         
-        // Capture API response details for debugging
-        try {
-            Object currentClass = result.getInstance();
-            Field[] fields = result.getTestClass().getRealClass().getDeclaredFields();
-            
-            for (Field field : fields) {
-                if (field.getType() == Response.class) {
-                    field.setAccessible(true);
-                    Response response = (Response) field.get(currentClass);
-                    if (response != null) {
-                        System.err.println("   API Response Status: " + response.getStatusCode());
-                        System.err.println("   API Response Body: " + response.getBody().asString());
-                    }
-                }
-            }
-        } catch (IllegalAccessException e) {
-            System.err.println("   Unable to capture API response details");
+        // Capture API response details for debugging, oldest first, from the responses this test thread received
+        List<Map<String, Object>> responses = new ArrayList<>();
+        ResponseRegistry.recent().forEach(response -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("status", response.getStatusCode());
+            details.put("body", response.getBody().asString());
+            responses.add(details);
+        });
+        ResponseRegistry.clear();
+        if (!responses.isEmpty()) {
+            Map<String, Object> last = responses.get(responses.size() - 1);
+            event.with("responseStatus", last.get("status"))
+                    .with("responseBody", last.get("body"))
+                    .with("responses", responses);
         }
         
-        System.out.println("----------------------------------------");
+        events.publish(event);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("⏭️  Test SKIPPED: " + result.getName());
-        System.out.println("----------------------------------------");
+        events.publish(testEvent("testSkipped", result));
     }
 
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
-        System.out.println("⚠️  Test FAILED but within success percentage: " + result.getName());
-        System.out.println("----------------------------------------");
+        events.publish(testEvent("testFailedWithinSuccessPercentage", result)
+                .with("durationMs", durationOf(result)));
     }
 
+    // One pair per <test> of the suite XML; a suite such as LoadTestNg.xml has several
     @Override
     public void onStart(ITestContext context) {
-        System.out.println();
-        System.out.println(" Starting Test Suite: " + context.getName());
-        System.out.println("   Total Tests: " + context.getAllTestMethods().length);
-        System.out.println("========================================");
+        events.publish(new TestEvent("testStart")
+                .with("suite", context.getSuite().getName())
+                .with("testName", context.getName())
+                .with("total", context.getAllTestMethods().length));
     }
 
     @Override
     public void onFinish(ITestContext context) {
-        System.out.println();
-        System.out.println(" Test Suite Results: " + context.getName());
-        System.out.println("   Passed: " + context.getPassedTests().size());
-        System.out.println("   Failed: " + context.getFailedTests().size());
-        System.out.println("   Skipped: " + context.getSkippedTests().size());
-        System.out.println("   Total: " + context.getAllTestMethods().length);
-        System.out.println("========================================");
+        events.publish(new TestEvent("testFinish")
+                .with("suite", context.getSuite().getName())
+                .with("testName", context.getName())
+                .with("passed", context.getPassedTests().size())
+                .with("failed", context.getFailedTests().size())
+                .with("skipped", context.getSkippedTests().size())
+                .with("total", context.getAllTestMethods().length)
+                .with("durationMs", context.getEndDate().getTime() - context.getStartDate().getTime()));
+    }
+
+    private static TestEvent testEvent(String type, ITestResult result) {
+        return new TestEvent(type)
+                .with("test", result.getName())
+                .with("class", result.getTestClass().getName())
+                .with("method", result.getMethod().getMethodName());
+    }
+
+    // Summed over invocations, so data-driven and repeated methods weigh what they cost
+    private void recordDuration(ITestResult result) {
+        durations.merge(ShardSelector.testId(result.getMethod()), durationOf(result), Long::sum);
+    }
+
+    private static long durationOf(ITestResult result) {
+        return result.getEndMillis() - result.getStartMillis();
     }
 }
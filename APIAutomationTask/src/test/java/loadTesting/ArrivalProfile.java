@@ -0,0 +1,135 @@
+package loadTesting;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Open-model load profile: a sequence of phases, each sending requests at a fixed arrival rate
+ * Constant, step and spike profiles are phase sequences; a rate of 0 is a pause
+ */
+public class ArrivalProfile {
+    private final String name;
+    private final List<Phase> phases;
+
+    public ArrivalProfile(String name, List<Phase> phases) {
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("An arrival profile needs at least one phase");
+        }
+        this.name = name;
+        this.phases = Collections.unmodifiableList(new ArrayList<>(phases));
+    }
+
+    public static ArrivalProfile constant(double ratePerSecond, Duration duration) {
+        return new ArrivalProfile("constant", List.of(new Phase(ratePerSecond, duration)));
+    }
+
+    // steps phases of stepDuration each, from startRate up by rateStep per phase
+    public static ArrivalProfile steps(double startRate, double rateStep, int steps, Duration stepDuration) {
+        List<Phase> phases = new ArrayList<>();
+        for (int step = 0; step < steps; step++) {
+            phases.add(new Phase(startRate + step * rateStep, stepDuration));
+        }
+        return new ArrivalProfile("step", phases);
+    }
+
+    // baseRate for the whole duration except spikeDuration at spikeRate in the middle
+    public static ArrivalProfile spike(double baseRate, double spikeRate, Duration duration, Duration spikeDuration) {
+        if (spikeDuration.compareTo(duration) >= 0) {
+            throw new IllegalArgumentException("The spike must be shorter than the profile but was: " + spikeDuration);
+        }
+        Duration before = duration.minus(spikeDuration).dividedBy(2);
+        return new ArrivalProfile("spike", List.of(
+                new Phase(baseRate, before),
+                new Phase(spikeRate, spikeDuration),
+                new Phase(baseRate, duration.minus(spikeDuration).minus(before))));
+    }
+
+    /**
+     * Reads -Dload.arrival=constant|step|spike with -Dload.rate and -Dload.durationSeconds, plus -Dload.rateStep and
+     * -Dload.steps for steps or -Dload.spikeRate and -Dload.spikeSeconds for a spike, falling back to the given defaults
+     */
+    public static ArrivalProfile fromSystemProperties(double rate, int durationSeconds) {
+        double baseRate = Double.parseDouble(System.getProperty("load.rate", String.valueOf(rate)));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", durationSeconds));
+        String type = System.getProperty("load.arrival", "constant");
+        switch (type) {
+            case "constant":
+                return constant(baseRate, duration);
+            case "step":
+                int steps = Integer.getInteger("load.steps", 4);
+                double rateStep = Double.parseDouble(System.getProperty("load.rateStep", String.valueOf(baseRate)));
+                return steps(baseRate, rateStep, steps, duration.dividedBy(steps));
+            case "spike":
+                double spikeRate = Double.parseDouble(System.getProperty("load.spikeRate", String.valueOf(baseRate * 5)));
+                Duration spike = Duration.ofSeconds(Integer.getInteger("load.spikeSeconds", Math.max(1, durationSeconds / 5)));
+                return spike(baseRate, spikeRate, duration, spike);
+            default:
+                throw new IllegalArgumentException("Unknown arrival profile '" + type + "', expected constant, step or spike");
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public Duration getDuration() {
+        return phases.stream().map(Phase::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    public long getPlannedRequests() {
+        return phases.stream().mapToLong(Phase::getPlannedRequests).sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + phases.stream().map(Phase::toString).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Requests sent every 1/rate seconds for the duration
+     */
+    public static class Phase {
+        private final double ratePerSecond;
+        private final Duration duration;
+
+        public Phase(double ratePerSecond, Duration duration) {
+            if (ratePerSecond < 0 || Double.isNaN(ratePerSecond) || Double.isInfinite(ratePerSecond)) {
+                throw new IllegalArgumentException("Arrival rate must be a finite number of at least 0 but was: " + ratePerSecond);
+            }
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("Phase duration must be positive but was: " + duration);
+            }
+            this.ratePerSecond = ratePerSecond;
+            this.duration = duration;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public long getPlannedRequests() {
+            return (long) Math.floor(ratePerSecond * duration.toNanos() / 1_000_000_000.0);
+        }
+
+        // Intended send time of the phase's request, in nanoseconds from the start of the phase
+        public long offsetOf(long request) {
+            return (long) (request * 1_000_000_000.0 / ratePerSecond);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f/s for %.1fs", ratePerSecond, duration.toMillis() / 1000.0);
+        }
+    }
+}
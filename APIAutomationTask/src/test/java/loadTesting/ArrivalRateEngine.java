@@ -0,0 +1,107 @@
+package loadTesting;
+
+import io.restassured.response.Response;
+import performance.LatencyRecorder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load engine: requests are issued at the profile's arrival rate whether or not earlier ones have returned
+ * Every request runs on its own virtual thread, cycling through the registered endpoints. Latency is recorded twice:
+ * corrected, from the intended send time, and uncorrected, from the moment the call was actually made. The two only
+ * differ when requests had to wait, for a free in-flight slot or for a scheduler that fell behind, which is exactly
+ * the time a closed-loop caller leaves out (coordinated omission)
+ */
+public class ArrivalRateEngine {
+    private final Map<String, EndpointCall> endpoints = new LinkedHashMap<>();
+    private final int maxInFlight;
+
+    // maxInFlight bounds concurrent calls, like a client's connection limit; arrivals beyond it wait for a slot
+    public ArrivalRateEngine(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight requests must be at least 1 but was: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    public ArrivalRateEngine endpoint(String name, EndpointCall call) {
+        endpoints.put(name, call);
+        return this;
+    }
+
+    public ArrivalRateReport run(ArrivalProfile profile) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("No endpoints registered for the arrival rate run");
+        }
+        List<String> names = new ArrayList<>(endpoints.keySet());
+        List<EndpointCall> calls = new ArrayList<>(endpoints.values());
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String name : names) {
+            stats.put(name, new EndpointStats(name));
+        }
+        List<String> phaseNames = new ArrayList<>();
+        Map<String, EndpointStats> phaseStats = new LinkedHashMap<>();
+        for (int i = 0; i < profile.getPhases().size(); i++) {
+            String phaseName = "phase " + (i + 1) + " (" + profile.getPhases().get(i) + ")";
+            phaseNames.add(phaseName);
+            phaseStats.put(phaseName, new EndpointStats(phaseName));
+        }
+
+        LatencyRecorder corrected = new LatencyRecorder();
+        LatencyRecorder uncorrected = new LatencyRecorder();
+        Semaphore slots = new Semaphore(maxInFlight);
+        long maxLagNanos = 0;
+        long sequence = 0;
+        long start = System.nanoTime();
+        AtomicLong lastSent = new AtomicLong(start);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long phaseStart = start;
+            for (int phase = 0; phase < profile.getPhases().size(); phase++) {
+                ArrivalProfile.Phase current = profile.getPhases().get(phase);
+                EndpointStats currentPhase = phaseStats.get(phaseNames.get(phase));
+                String phaseName = phaseNames.get(phase);
+                for (long request = 0; request < current.getPlannedRequests(); request++) {
+                    long intended = phaseStart + current.offsetOf(request);
+                    long wait;
+                    while ((wait = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    maxLagNanos = Math.max(maxLagNanos, -wait);
+                    int endpoint = (int) (sequence++ % calls.size());
+                    executor.submit(() -> {
+                        slots.acquire();
+                        long sent = System.nanoTime();
+                        lastSent.accumulateAndGet(sent, Math::max);
+                        try {
+                            Response response = calls.get(endpoint).execute();
+                            long end = System.nanoTime();
+                            corrected.record(names.get(endpoint), end - intended);
+                            uncorrected.record(names.get(endpoint), end - sent);
+                            corrected.record(phaseName, end - intended);
+                            uncorrected.record(phaseName, end - sent);
+                            stats.get(names.get(endpoint)).recordResponse(response.getStatusCode());
+                            currentPhase.recordResponse(response.getStatusCode());
+                        } catch (Exception e) {
+                            stats.get(names.get(endpoint)).recordTransportError();
+                            currentPhase.recordTransportError();
+                        } finally {
+                            slots.release();
+                        }
+                        return null;
+                    });
+                }
+                phaseStart += current.getDuration().toNanos();
+            }
+            // Closing the executor waits for the requests still in flight
+        }
+        return new ArrivalRateReport(profile, maxInFlight, maxLagNanos, lastSent.get() - start, stats, phaseStats, corrected, uncorrected);
+    }
+}
@@ -0,0 +1,117 @@
+package loadTesting;
+
+import performance.LatencyRecorder;
+import performance.LatencySummary;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of an ArrivalRateEngine run, per endpoint and per profile phase
+ * Latencies are available corrected (from the intended send time) and uncorrected (from the actual send time)
+ */
+public class ArrivalRateReport {
+    private final ArrivalProfile profile;
+    private final int maxInFlight;
+    private final long maxSchedulingLagNanos;
+    private final long sendSpanNanos;
+    private final Map<String, EndpointStats> endpoints;
+    private final Map<String, EndpointStats> phases;
+    private final LatencyRecorder corrected;
+    private final LatencyRecorder uncorrected;
+
+    // sendSpanNanos: from the start of the run until the last request was actually sent
+    public ArrivalRateReport(ArrivalProfile profile, int maxInFlight, long maxSchedulingLagNanos, long sendSpanNanos,
+                             Map<String, EndpointStats> endpoints, Map<String, EndpointStats> phases,
+                             LatencyRecorder corrected, LatencyRecorder uncorrected) {
+        this.profile = profile;
+        this.maxInFlight = maxInFlight;
+        this.maxSchedulingLagNanos = maxSchedulingLagNanos;
+        this.sendSpanNanos = sendSpanNanos;
+        this.endpoints = Collections.unmodifiableMap(new LinkedHashMap<>(endpoints));
+        this.phases = Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+        this.corrected = corrected;
+        this.uncorrected = uncorrected;
+    }
+
+    public ArrivalProfile getProfile() {
+        return profile;
+    }
+
+    public Collection<EndpointStats> getEndpoints() {
+        return endpoints.values();
+    }
+
+    // One entry per profile phase, in order
+    public Collection<EndpointStats> getPhases() {
+        return phases.values();
+    }
+
+    // Latency from the intended send time, by endpoint or phase name
+    public LatencySummary getCorrectedLatency(String name) {
+        return corrected.summary(name);
+    }
+
+    // Latency from the actual send time, what a closed-loop caller would have reported
+    public LatencySummary getUncorrectedLatency(String name) {
+        return uncorrected.summary(name);
+    }
+
+    public double getMaxSchedulingLagMillis() {
+        return maxSchedulingLagNanos / 1_000_000.0;
+    }
+
+    public long getTotalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getRequests).sum();
+    }
+
+    public long getTotalErrors() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getErrors).sum();
+    }
+
+    public double getTargetRate() {
+        return profile.getPlannedRequests() / seconds(profile.getDuration().toNanos());
+    }
+
+    // Requests per second actually sent; below the target when requests waited for in-flight slots past the profile
+    public double getAchievedRate() {
+        return getTotalRequests() / seconds(Math.max(profile.getDuration().toNanos(), sendSpanNanos));
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    public void print() {
+        System.out.println("========================================");
+        System.out.println("    Arrival Rate Results");
+        System.out.println("========================================");
+        System.out.println("Profile: " + profile);
+        System.out.printf("Target: %.1f req/s, Achieved: %.1f req/s, Requests: %d, Errors: %d, Max in flight: %d, Max scheduling lag: %.1fms%n",
+                getTargetRate(), getAchievedRate(), getTotalRequests(), getTotalErrors(), maxInFlight, getMaxSchedulingLagMillis());
+        System.out.println("Latency corrected from the intended send time; uncorrected (from the actual send) in brackets");
+        System.out.println("----------------------------------------");
+        for (EndpointStats stats : phases.values()) {
+            System.out.printf("%s: %d requests, errorRate=%.2f%%%n", stats.getEndpoint(), stats.getRequests(),
+                    stats.getErrorRate() * 100);
+            printLatency(stats.getEndpoint());
+        }
+        System.out.println("----------------------------------------");
+        for (EndpointStats stats : endpoints.values()) {
+            System.out.printf("%-24s requests=%-8d errorRate=%6.2f%%  status=%s%n",
+                    stats.getEndpoint(), stats.getRequests(), stats.getErrorRate() * 100, stats.getStatusCodes());
+            printLatency(stats.getEndpoint());
+        }
+        System.out.println("========================================");
+    }
+
+    private void printLatency(String name) {
+        LatencySummary fromIntended = corrected.summary(name);
+        LatencySummary fromSent = uncorrected.summary(name);
+        System.out.printf("%-24s p50=%.1fms (%.1f) p90=%.1fms (%.1f) p99=%.1fms (%.1f) max=%.1fms (%.1f)%n", "",
+                fromIntended.getP50(), fromSent.getP50(), fromIntended.getP90(), fromSent.getP90(),
+                fromIntended.getP99(), fromSent.getP99(), fromIntended.getMax(), fromSent.getMax());
+    }
+}
@@ -0,0 +1,61 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import testCases.CommonMethods;
+import utils.JsonMapper;
+import utils.TestDataRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * The shop's checkout flow as a Journey: create order, maybe apply loyalty points, pay part with the wallet, maybe refund
+ * Each journey works on its own order; the refund reuses the orderId, amount and transactionId of the earlier steps
+ */
+public class CheckoutJourney {
+    // Share of journeys redeeming points and of wallet payments refunded afterwards, as path weights out of 100
+    private static final int POINTS_WEIGHT = 60;
+    private static final int REFUND_WEIGHT = 25;
+
+    public static Journey create(CommonMethods commonMethods, Duration minThinkTime, Duration maxThinkTime) throws IOException {
+        ObjectNode createOrder = template("CreateOrderRequest.json");
+        ObjectNode applyPoints = template("ApplyPointsRequest.json");
+        ObjectNode useWallet = template("UseWalletRequest.json");
+        ObjectNode refundTrigger = template("RefundTriggerRequest.json");
+
+        return Journey.named("checkout")
+                .step("createOrder", user -> commonMethods.createOrder(createOrder.deepCopy()
+                        .put("orderId", "order_journey_" + user.getId() + "_" + user.getIteration()).toString()))
+                .extract("orderId", "data.orderId")
+                .thinkTime(minThinkTime, maxThinkTime)
+                .branch(Journey.weighted()
+                        .path(POINTS_WEIGHT, Journey.named("payWithPoints")
+                                // Without points left the customer simply pays the full price
+                                .step("applyPoints", user -> commonMethods.applyPoints(applyPoints.deepCopy()
+                                        .put("orderId", user.get("orderId")).toString()))
+                                .optional()
+                                .thinkTime(minThinkTime, maxThinkTime))
+                        .path(100 - POINTS_WEIGHT, Journey.named("noPoints")))
+                .step("useWallet", user -> commonMethods.useWallet(useWallet.deepCopy()
+                        .put("orderId", user.get("orderId")).toString()))
+                .extract("transactionId", "data.transactionId")
+                .extract("walletAmountUsed", "data.walletAmountUsed")
+                // A short wallet balance moves the payment to another method, which leaves nothing to refund to the wallet
+                .optional()
+                .branch(Journey.weighted()
+                        .path(REFUND_WEIGHT, Journey.named("refund")
+                                .thinkTime(minThinkTime, maxThinkTime)
+                                .step("triggerRefund", user -> commonMethods.triggerRefund(refundTrigger.deepCopy()
+                                        .put("orderId", user.get("orderId"))
+                                        .put("refundAmount", Double.parseDouble(user.get("walletAmountUsed")))
+                                        .put("refundReason", "Return of wallet payment " + user.get("transactionId"))
+                                        .toString()))
+                                // Both come from the same wallet response, but the refund needs each of them
+                                .when(user -> user.has("transactionId") && user.has("walletAmountUsed")))
+                        .path(100 - REFUND_WEIGHT, Journey.named("keep")));
+    }
+
+    private static ObjectNode template(String fileName) throws IOException {
+        return (ObjectNode) JsonMapper.mapper().readTree(TestDataRepository.json(fileName));
+    }
+}
@@ -0,0 +1,110 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.restassured.response.Response;
+import testCases.CommonMethods;
+import utils.JsonMapper;
+import utils.TestDataRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load scenario over the loyalty, wallet and refund endpoints of CommonMethods
+ * Request bodies come from TestDataRepository so virtual users only pay for the API calls
+ */
+public class CheckoutLoadScenario {
+    // Refunds of one order are capped at its total, so refunds cycle through REFUND_ORDERS orders created for them,
+    // each with room for REFUNDS_PER_ORDER refunds; when a set is used up the next one is created, so no run size runs out
+    private static final int REFUND_ORDERS = 16;
+    private static final int REFUNDS_PER_ORDER = 10_000;
+
+    public static LoadEngine create(CommonMethods commonMethods) throws IOException {
+        LoadEngine engine = new LoadEngine();
+        endpoints(commonMethods).forEach(engine::endpoint);
+        return engine;
+    }
+
+    // The scenario's calls by name, for the closed-model LoadEngine or the open-model ArrivalRateEngine
+    public static Map<String, EndpointCall> endpoints(CommonMethods commonMethods) throws IOException {
+        String applyPointsBody = TestDataRepository.json("ApplyPointsRequest.json");
+        String useWalletBody = TestDataRepository.json("UseWalletRequest.json");
+        RefundOrders refundOrders = new RefundOrders(commonMethods);
+
+        // Points and wallet calls reference the order from the test data
+        commonMethods.createOrder(TestDataRepository.json("CreateOrderRequest.json"));
+
+        Map<String, EndpointCall> endpoints = new LinkedHashMap<>();
+        endpoints.put("getLoyaltyBalance", commonMethods::getLoyaltyBalance);
+        endpoints.put("applyPoints", () -> commonMethods.applyPoints(applyPointsBody));
+        endpoints.put("useWallet", () -> commonMethods.useWallet(useWalletBody));
+        endpoints.put("getWalletTransactions", commonMethods::getWalletTransactions);
+        endpoints.put("triggerRefund", () -> commonMethods.triggerRefund(refundOrders.nextBody()));
+        return endpoints;
+    }
+
+    // Hands out refund bodies round-robin over the current set of orders, creating the next set when one is used up
+    private static final class RefundOrders {
+        private final CommonMethods commonMethods;
+        private final ObjectNode createOrder;
+        private final ObjectNode refundTrigger;
+        private final double orderTotal;
+        // Order ids are unique per run
+        private final String run = Long.toString(System.currentTimeMillis(), 36);
+        private final AtomicLong refunds = new AtomicLong();
+        private final Map<Long, CompletableFuture<String[]>> sets = new ConcurrentHashMap<>();
+
+        private RefundOrders(CommonMethods commonMethods) throws IOException {
+            this.commonMethods = commonMethods;
+            this.createOrder = (ObjectNode) JsonMapper.mapper().readTree(TestDataRepository.json("CreateOrderRequest.json"));
+            this.refundTrigger = (ObjectNode) JsonMapper.mapper().readTree(TestDataRepository.json("RefundTriggerRequest.json"));
+            this.orderTotal = refundTrigger.path("refundAmount").asDouble() * REFUNDS_PER_ORDER;
+            // The first set is created before the run so its creation is not timed
+            sets.put(0L, CompletableFuture.completedFuture(createSet(0)));
+        }
+
+        private String nextBody() {
+            long refund = refunds.getAndIncrement();
+            long set = refund / ((long) REFUND_ORDERS * REFUNDS_PER_ORDER);
+            // Callers reaching a new set wait on its future for the one thread that creates it; computeIfAbsent would
+            // hold a map lock across the HTTP calls and pin the waiting virtual threads
+            CompletableFuture<String[]> bodies = sets.get(set);
+            if (bodies == null) {
+                CompletableFuture<String[]> created = new CompletableFuture<>();
+                bodies = sets.putIfAbsent(set, created);
+                if (bodies == null) {
+                    bodies = created;
+                    try {
+                        created.complete(createSet(set));
+                    } catch (IOException e) {
+                        created.completeExceptionally(new UncheckedIOException("Could not create refund orders", e));
+                    } catch (RuntimeException e) {
+                        created.completeExceptionally(e);
+                    }
+                }
+            }
+            return bodies.join()[(int) (refund % REFUND_ORDERS)];
+        }
+
+        private String[] createSet(long set) throws IOException {
+            String[] bodies = new String[REFUND_ORDERS];
+            for (int i = 0; i < REFUND_ORDERS; i++) {
+                String orderId = "order_load_refund_" + run + "_" + set + "_" + i;
+                Response created = commonMethods.createOrder(createOrder.deepCopy()
+                        .put("orderId", orderId)
+                        .put("total", orderTotal)
+                        .toString());
+                if (created.getStatusCode() != 201) {
+                    throw new IllegalStateException("Could not create refund order " + orderId + ": HTTP " + created.getStatusCode());
+                }
+                bodies[i] = refundTrigger.deepCopy().put("orderId", orderId).toString();
+            }
+            return bodies;
+        }
+    }
+}
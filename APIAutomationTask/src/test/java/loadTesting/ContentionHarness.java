@@ -0,0 +1,66 @@
+package loadTesting;
+
+import io.restassured.response.Response;
+import performance.LatencyRecorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires the same call from many virtual threads at the same instant
+ * Every thread parks on a start gate until all of them are ready, so the requests race each other at the server
+ * instead of arriving one after the other; the outcome tells how many won and why the others were rejected
+ */
+public class ContentionHarness {
+    private final int requests;
+    private final long timeoutSeconds;
+
+    public ContentionHarness(int requests, long timeoutSeconds) {
+        this.requests = requests;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public ContentionOutcome fire(String name, EndpointCall call) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(requests);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] sentAt = new long[requests];
+        LatencyRecorder latencies = new LatencyRecorder();
+        List<Future<Response>> results = new ArrayList<>(requests);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    long start = System.nanoTime();
+                    sentAt[index] = start;
+                    Response response = call.execute();
+                    latencies.record(name, System.nanoTime() - start);
+                    return response;
+                }));
+            }
+            if (!ready.await(timeoutSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                throw new IllegalStateException("Only " + (requests - ready.getCount()) + " of " + requests + " threads got ready");
+            }
+            long released = System.nanoTime();
+            go.countDown();
+            executor.shutdown();
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                throw new IllegalStateException(name + " did not finish within " + timeoutSeconds + "s");
+            }
+            return ContentionOutcome.of(name, results, sentAt, System.nanoTime() - released, latencies.histogram(name));
+        }
+    }
+}
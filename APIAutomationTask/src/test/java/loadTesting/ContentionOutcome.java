@@ -0,0 +1,134 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import performance.LatencySummary;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Result of one ContentionHarness burst
+ * Winners are the 2xx responses; rejections are counted by status code and error message
+ */
+public class ContentionOutcome {
+    private final String name;
+    private final int attempts;
+    private final List<Response> winners;
+    private final Map<String, Long> rejections;
+    private final List<String> transportErrors;
+    private final long releaseSkewNanos;
+    private final long elapsedNanos;
+    private final LatencySummary latency;
+
+    private ContentionOutcome(String name, int attempts, List<Response> winners, Map<String, Long> rejections,
+                              List<String> transportErrors, long releaseSkewNanos, long elapsedNanos, LatencySummary latency) {
+        this.name = name;
+        this.attempts = attempts;
+        this.winners = winners;
+        this.rejections = rejections;
+        this.transportErrors = transportErrors;
+        this.releaseSkewNanos = releaseSkewNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+
+    static ContentionOutcome of(String name, List<Future<Response>> results, long[] sentAt, long elapsedNanos, Histogram latencies)
+            throws InterruptedException {
+        List<Response> winners = new ArrayList<>();
+        Map<String, Long> rejections = new TreeMap<>();
+        List<String> transportErrors = new ArrayList<>();
+        for (Future<Response> result : results) {
+            try {
+                Response response = result.get();
+                if (response.getStatusCode() / 100 == 2) {
+                    winners.add(response);
+                } else {
+                    rejections.merge(rejectionReason(response), 1L, Long::sum);
+                }
+            } catch (ExecutionException e) {
+                transportErrors.add(String.valueOf(e.getCause()));
+            }
+        }
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (long sent : sentAt) {
+            if (sent != 0) {
+                first = Math.min(first, sent);
+                last = Math.max(last, sent);
+            }
+        }
+        long skew = first == Long.MAX_VALUE ? 0 : last - first;
+        return new ContentionOutcome(name, results.size(), Collections.unmodifiableList(winners), rejections,
+                transportErrors, skew, elapsedNanos, new LatencySummary(name, latencies));
+    }
+
+    // Proxies and gateways answer with HTML or empty bodies, which are grouped by status code alone
+    private static String rejectionReason(Response response) {
+        String reason = String.valueOf(response.getStatusCode());
+        try {
+            JsonNode json = JsonMapper.mapper().readTree(response.asByteArray());
+            String message = json == null ? "" : json.path("message").asText("");
+            return message.isEmpty() ? reason : reason + " " + message;
+        } catch (IOException e) {
+            return reason;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public List<Response> getWinners() {
+        return winners;
+    }
+
+    public int getWinnerCount() {
+        return winners.size();
+    }
+
+    public Map<String, Long> getRejections() {
+        return rejections;
+    }
+
+    public List<String> getTransportErrors() {
+        return transportErrors;
+    }
+
+    // Time between the first and the last thread sending after the release; small means the requests truly raced
+    public double getReleaseSkewMillis() {
+        return releaseSkewNanos / 1_000_000.0;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public LatencySummary getLatency() {
+        return latency;
+    }
+
+    public void print() {
+        System.out.println("----------------------------------------");
+        System.out.printf("%s: %d simultaneous requests, %d won, %d rejected, %d transport errors%n",
+                name, attempts, winners.size(), attempts - winners.size() - transportErrors.size(), transportErrors.size());
+        System.out.printf("  release skew=%.1fms elapsed=%.1fms latency p50=%.1fms p99=%.1fms max=%.1fms%n",
+                getReleaseSkewMillis(), getElapsedMillis(), latency.getP50(), latency.getP99(), latency.getMax());
+        rejections.forEach((reason, count) -> System.out.println("  rejected " + count + "x: " + reason));
+        if (!transportErrors.isEmpty()) {
+            System.out.println("  first transport error: " + transportErrors.get(0));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package loadTesting;
+
+import mockServer.EmbeddedMockServer;
+import testCases.SuiteWarmUp;
+import utils.ChildJvm;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the distributed load jar (mvn -P distributed-load package -DskipTests)
+ *
+ * java -jar target/APIAutomationTask-1.0-SNAPSHOT-load.jar worker [port] [--once]
+ * java -jar target/APIAutomationTask-1.0-SNAPSHOT-load.jar coordinator host:port[,host:port...]
+ * java -jar target/APIAutomationTask-1.0-SNAPSHOT-load.jar coordinator --spawn N
+ *
+ * The coordinator takes the total profile from -Dload.concurrency, -Dload.durationSeconds and -Dload.rampUpSeconds;
+ * workers call the baseUrl of their own configuration and warm it up before listening. --spawn starts N local worker
+ * JVMs first
+ */
+public final class DistributedLoad {
+    private static final String LISTENING = "Load worker listening on port ";
+
+    private DistributedLoad() {
+    }
+
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "";
+        try {
+            switch (mode) {
+                case "worker":
+                    worker(args);
+                    break;
+                case "coordinator":
+                    coordinator(args);
+                    break;
+                default:
+                    System.err.println("Usage: worker [port] [--once] | coordinator host:port[,host:port...] | coordinator --spawn N");
+                    System.exit(2);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        // Pooled HTTP clients keep non-daemon threads alive
+        System.exit(0);
+    }
+
+    private static void worker(String[] args) throws IOException {
+        ConfigSnapshot config = ConfigurationManager.current();
+        int port = args.length > 1 && !args[1].startsWith("--") ? Integer.parseInt(args[1]) : config.getInt("loadWorkerPort", 7070);
+        boolean once = List.of(args).contains("--once");
+        SuiteWarmUp.run();
+        try (LoadWorker worker = new LoadWorker(port)) {
+            System.out.println(LISTENING + worker.getPort() + ", calling " + config.getBaseUrl());
+            worker.serve(once);
+        }
+    }
+
+    private static void coordinator(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Give the workers as host:port[,host:port...] or --spawn N");
+        }
+        ConfigSnapshot config = ConfigurationManager.current();
+        List<Process> spawned = new ArrayList<>();
+        List<InetSocketAddress> workers = new ArrayList<>();
+        try {
+            if ("--spawn".equals(args[1])) {
+                // Local workers share one embedded mock server, when enabled, instead of the first worker hosting it
+                EmbeddedMockServer.startIfEnabled();
+                int count = Integer.parseInt(args[2]);
+                for (int i = 1; i <= count; i++) {
+                    Process process = new ProcessBuilder(ChildJvm.command(List.of(), DistributedLoad.class.getName(), List.of("worker", "0", "--once")))
+                            .redirectErrorStream(true)
+                            .start();
+                    spawned.add(process);
+                    workers.add(new InetSocketAddress("localhost", awaitPort(process, "worker-" + i)));
+                }
+            } else {
+                workers.addAll(LoadCoordinator.parseWorkers(args[1]));
+            }
+
+            LoadJob job = new LoadJob(System.getProperty("load.scenario", LoadJob.CHECKOUT),
+                    config.getString("transport", "restassured"), LoadProfile.fromSystemProperties(200, 10, 2));
+            LoadCoordinator coordinator = new LoadCoordinator(workers, Duration.ofMillis(config.getLong("loadStartDelayMillis", 1000)));
+            System.out.println("Running " + job + " on " + workers.size() + " workers: " + workers);
+            LoadReport report = coordinator.run(job);
+
+            List<LoadReport> workerReports = coordinator.getWorkerReports();
+            for (int i = 0; i < workerReports.size(); i++) {
+                LoadReport workerReport = workerReports.get(i);
+                System.out.printf("Worker %s: %d users, %d requests, %.1f req/s, %d errors%n", workers.get(i),
+                        workerReport.getProfile().getConcurrency(), workerReport.getTotalRequests(),
+                        workerReport.getThroughput(), workerReport.getTotalErrors());
+            }
+            report.print();
+        } finally {
+            for (Process process : spawned) {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroy();
+                }
+            }
+            EmbeddedMockServer.stopShared();
+        }
+    }
+
+    // Reads the spawned worker's output until it reports its port, then keeps echoing it in the background
+    private static int awaitPort(Process process, String name) throws IOException {
+        BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null) {
+            System.out.println("[" + name + "] " + line);
+            if (line.startsWith(LISTENING)) {
+                Thread echo = new Thread(() -> output.lines().forEach(rest -> System.out.println("[" + name + "] " + rest)), name + "-output");
+                echo.setDaemon(true);
+                echo.start();
+                return Integer.parseInt(line.substring(LISTENING.length()).split(",")[0].trim());
+            }
+        }
+        throw new IllegalStateException(name + " exited before it was listening");
+    }
+}
@@ -0,0 +1,13 @@
+package loadTesting;
+
+import io.restassured.response.Response;
+
+/**
+ * Single API call driven by the load engine
+ * Usually a method reference to one of the CommonMethods endpoints
+ */
+@FunctionalInterface
+public interface EndpointCall {
+
+    Response execute() throws Exception;
+}
@@ -0,0 +1,72 @@
+package loadTesting;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters for one endpoint during a load run
+ * Updated concurrently by every virtual user calling the endpoint
+ */
+public class EndpointStats {
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void recordResponse(int statusCode) {
+        requests.increment();
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        if (statusCode < 200 || statusCode >= 300) {
+            errors.increment();
+        }
+    }
+
+    // Call never produced a response (connection refused, timeout...)
+    public void recordTransportError() {
+        requests.increment();
+        errors.increment();
+        transportErrors.increment();
+    }
+
+    // Folds in the counters of the same endpoint from another process, e.g. a distributed load worker
+    public void add(long requests, long errors, long transportErrors, Map<Integer, Long> statusCodes) {
+        this.requests.add(requests);
+        this.errors.add(errors);
+        this.transportErrors.add(transportErrors);
+        statusCodes.forEach((code, count) -> this.statusCodes.computeIfAbsent(code, key -> new LongAdder()).add(count));
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTransportErrors() {
+        return transportErrors.sum();
+    }
+
+    public double getErrorRate() {
+        long total = getRequests();
+        return total == 0 ? 0.0 : (double) getErrors() / total;
+    }
+
+    public Map<Integer, Long> getStatusCodes() {
+        Map<Integer, Long> snapshot = new TreeMap<>();
+        statusCodes.forEach((code, count) -> snapshot.put(code, count.sum()));
+        return snapshot;
+    }
+}
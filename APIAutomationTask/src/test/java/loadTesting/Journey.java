@@ -0,0 +1,256 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * User journey for the JourneyEngine: named steps, think times and weighted branches run in order by every virtual user
+ * extract, optional and when apply to the step added last. A step fails on a non-2xx status, a transport error or a
+ * value it could not extract, which ends the journey unless the step is optional
+ */
+public class Journey {
+    private final String name;
+    private final List<Element> elements = new ArrayList<>();
+    private final Set<String> stepNames = new LinkedHashSet<>();
+    private final Set<String> pathNames = new LinkedHashSet<>();
+
+    private Journey(String name) {
+        this.name = name;
+    }
+
+    public static Journey named(String name) {
+        return new Journey(name);
+    }
+
+    // Start of a weighted branch; every virtual user takes one of its paths per journey
+    public static Weighted weighted() {
+        return new Weighted();
+    }
+
+    public Journey step(String stepName, JourneyCall call) {
+        elements.add(new Step(stepName, call));
+        stepNames.add(stepName);
+        return this;
+    }
+
+    // Stores the value at the response's dotted JSON path as the virtual user's variable, e.g. ("orderId", "data.orderId")
+    public Journey extract(String variable, String jsonPath) {
+        lastStep("extract").extractors.put(variable, jsonPath);
+        return this;
+    }
+
+    // A failure of the last step is counted but the journey carries on, e.g. paying without points when none are left
+    public Journey optional() {
+        lastStep("optional").optional = true;
+        return this;
+    }
+
+    // The last step only runs for virtual users matching the condition, e.g. a refund only after a wallet payment
+    public Journey when(Predicate<VirtualUser> condition) {
+        lastStep("when").condition = condition;
+        return this;
+    }
+
+    public Journey thinkTime(Duration pause) {
+        return thinkTime(pause, pause);
+    }
+
+    // Pause drawn uniformly between min and max, on the virtual user's own random
+    public Journey thinkTime(Duration min, Duration max) {
+        if (min.isNegative() || max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("Think time must be between 0 and max but was: " + min + " to " + max);
+        }
+        elements.add(new ThinkTime(min.toNanos(), max.toNanos()));
+        return this;
+    }
+
+    public Journey branch(Weighted branch) {
+        if (branch.paths.isEmpty()) {
+            throw new IllegalArgumentException("A branch needs at least one path");
+        }
+        elements.add(branch::run);
+        for (Journey path : branch.paths.keySet()) {
+            pathNames.add(path.getName());
+            stepNames.addAll(path.getStepNames());
+            pathNames.addAll(path.getPathNames());
+        }
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Every step of the journey and its branches, in declaration order
+    public Set<String> getStepNames() {
+        return Collections.unmodifiableSet(stepNames);
+    }
+
+    // Every branch path of the journey, in declaration order
+    public Set<String> getPathNames() {
+        return Collections.unmodifiableSet(pathNames);
+    }
+
+    Outcome run(VirtualUser user, JourneyMetrics metrics, long deadline) throws InterruptedException {
+        for (Element element : elements) {
+            Outcome outcome = element.run(user, metrics, deadline);
+            if (outcome != Outcome.CONTINUE) {
+                return outcome;
+            }
+        }
+        return Outcome.CONTINUE;
+    }
+
+    private Step lastStep(String modifier) {
+        if (elements.isEmpty() || !(elements.get(elements.size() - 1) instanceof Step step)) {
+            throw new IllegalStateException(modifier + " must follow a step in journey '" + name + "'");
+        }
+        return step;
+    }
+
+    // CUT_OFF: the run's deadline passed before the journey finished
+    enum Outcome {
+        CONTINUE, FAILED, CUT_OFF
+    }
+
+    private interface Element {
+
+        Outcome run(VirtualUser user, JourneyMetrics metrics, long deadline) throws InterruptedException;
+    }
+
+    private static class Step implements Element {
+        private final String name;
+        private final JourneyCall call;
+        private final Map<String, String> extractors = new LinkedHashMap<>();
+        private boolean optional;
+        private Predicate<VirtualUser> condition = user -> true;
+
+        Step(String name, JourneyCall call) {
+            this.name = name;
+            this.call = call;
+        }
+
+        @Override
+        public Outcome run(VirtualUser user, JourneyMetrics metrics, long deadline) throws InterruptedException {
+            if (!condition.test(user)) {
+                return Outcome.CONTINUE;
+            }
+            if (System.nanoTime() >= deadline) {
+                return Outcome.CUT_OFF;
+            }
+            EndpointStats stats = metrics.step(name);
+            long start = System.nanoTime();
+            Response response;
+            try {
+                response = call.execute(user);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                stats.recordTransportError();
+                return failed();
+            }
+            metrics.getLatencies().record(name, System.nanoTime() - start);
+            stats.recordResponse(response.getStatusCode());
+            if (response.getStatusCode() < 200 || response.getStatusCode() >= 300) {
+                return failed();
+            }
+            // Parsed once for all the step's extractors
+            JsonNode body = extractors.isEmpty() ? null : parse(response);
+            for (Map.Entry<String, String> extractor : extractors.entrySet()) {
+                String value = valueAt(body, extractor.getValue());
+                if (value == null) {
+                    metrics.correlationFailure(name);
+                    return failed();
+                }
+                user.set(extractor.getKey(), value);
+            }
+            return Outcome.CONTINUE;
+        }
+
+        private Outcome failed() {
+            return optional ? Outcome.CONTINUE : Outcome.FAILED;
+        }
+
+        // Jackson rather than RestAssured's Groovy JsonPath, which costs far more per response than the call itself
+        private static JsonNode parse(Response response) {
+            try {
+                return JsonMapper.mapper().readTree(response.asByteArray());
+            } catch (IOException e) {
+                // Not a JSON body, so nothing to extract
+                return null;
+            }
+        }
+
+        // Walks a dotted path, e.g. data.orderId
+        private static String valueAt(JsonNode body, String path) {
+            JsonNode node = body;
+            for (String field : path.split("\\.")) {
+                node = node == null ? null : node.get(field);
+            }
+            return node == null || !node.isValueNode() || node.isNull() ? null : node.asText();
+        }
+    }
+
+    private static class ThinkTime implements Element {
+        private final long minNanos;
+        private final long maxNanos;
+
+        ThinkTime(long minNanos, long maxNanos) {
+            this.minNanos = minNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        @Override
+        public Outcome run(VirtualUser user, JourneyMetrics metrics, long deadline) throws InterruptedException {
+            long pause = minNanos + (long) (user.getRandom().nextDouble() * (maxNanos - minNanos));
+            // Never sleep past the end of the run
+            TimeUnit.NANOSECONDS.sleep(Math.min(pause, deadline - System.nanoTime()));
+            return System.nanoTime() >= deadline ? Outcome.CUT_OFF : Outcome.CONTINUE;
+        }
+    }
+
+    /**
+     * Paths of a branch with their relative weights, e.g. 25 for a refund path and 75 for an empty one
+     */
+    public static class Weighted {
+        private final Map<Journey, Integer> paths = new LinkedHashMap<>();
+        private int totalWeight;
+
+        private Weighted() {
+        }
+
+        public Weighted path(int weight, Journey path) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Path weight must be at least 1 but was: " + weight);
+            }
+            paths.put(path, weight);
+            totalWeight += weight;
+            return this;
+        }
+
+        Outcome run(VirtualUser user, JourneyMetrics metrics, long deadline) throws InterruptedException {
+            int pick = user.getRandom().nextInt(totalWeight);
+            for (Map.Entry<Journey, Integer> path : paths.entrySet()) {
+                pick -= path.getValue();
+                if (pick < 0) {
+                    metrics.pathTaken(path.getKey().getName());
+                    return path.getKey().run(user, metrics, deadline);
+                }
+            }
+            throw new IllegalStateException("No path picked from weights " + paths.values());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package loadTesting;
+
+import io.restassured.response.Response;
+
+/**
+ * Single API call made by a Journey step
+ * Receives the virtual user so request bodies can reference values extracted by earlier steps
+ */
+@FunctionalInterface
+public interface JourneyCall {
+
+    Response execute(VirtualUser user) throws Exception;
+}
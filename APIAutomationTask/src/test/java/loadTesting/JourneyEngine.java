@@ -0,0 +1,54 @@
+package loadTesting;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load engine running a Journey: every virtual user repeats it on its own virtual thread until the profile duration elapses
+ * Each iteration starts with no extracted values, so correlation never leaks from one journey into the next
+ */
+public class JourneyEngine {
+    private final Journey journey;
+    private long seed = System.nanoTime();
+
+    public JourneyEngine(Journey journey) {
+        this.journey = journey;
+    }
+
+    // Seeds the virtual users' branch choices and think times; user n gets seed + n
+    public JourneyEngine seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public JourneyReport run(LoadProfile profile) {
+        JourneyMetrics metrics = new JourneyMetrics(journey);
+        long start = System.nanoTime();
+        long deadline = start + profile.getDuration().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < profile.getConcurrency(); user++) {
+                long startAt = start + profile.startDelayOf(user).toNanos();
+                VirtualUser virtualUser = new VirtualUser(user, seed + user);
+                executor.submit(() -> runVirtualUser(virtualUser, startAt, deadline, metrics));
+            }
+            // Closing the executor waits for the steps still in flight when the deadline passes
+        }
+        return new JourneyReport(journey.getName(), profile, Duration.ofNanos(System.nanoTime() - start), metrics);
+    }
+
+    private Void runVirtualUser(VirtualUser user, long startAt, long deadline, JourneyMetrics metrics) throws InterruptedException {
+        long delay = startAt - System.nanoTime();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+        while (System.nanoTime() < deadline) {
+            user.nextIteration();
+            long journeyStart = System.nanoTime();
+            Journey.Outcome outcome = journey.run(user, metrics, deadline);
+            metrics.journeyEnded(journey.getName(), outcome, System.nanoTime() - journeyStart);
+        }
+        return null;
+    }
+}
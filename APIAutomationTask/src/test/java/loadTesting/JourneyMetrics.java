@@ -0,0 +1,77 @@
+package loadTesting;
+
+import performance.LatencyRecorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latencies a JourneyEngine run collects, updated concurrently by every virtual user
+ * Steps and paths are registered up front from the journey so the maps themselves never change during the run
+ */
+class JourneyMetrics {
+    private final Map<String, EndpointStats> steps = new LinkedHashMap<>();
+    private final Map<String, LongAdder> correlationFailures = new LinkedHashMap<>();
+    private final Map<String, LongAdder> paths = new LinkedHashMap<>();
+    private final Map<Journey.Outcome, LongAdder> journeys = new LinkedHashMap<>();
+    private final LatencyRecorder latencies = new LatencyRecorder();
+    private final LatencyRecorder journeyLatencies = new LatencyRecorder();
+
+    JourneyMetrics(Journey journey) {
+        for (String step : journey.getStepNames()) {
+            steps.put(step, new EndpointStats(step));
+            correlationFailures.put(step, new LongAdder());
+        }
+        for (String path : journey.getPathNames()) {
+            paths.put(path, new LongAdder());
+        }
+        for (Journey.Outcome outcome : Journey.Outcome.values()) {
+            journeys.put(outcome, new LongAdder());
+        }
+    }
+
+    EndpointStats step(String name) {
+        return steps.get(name);
+    }
+
+    void correlationFailure(String step) {
+        correlationFailures.get(step).increment();
+    }
+
+    void pathTaken(String path) {
+        paths.get(path).increment();
+    }
+
+    // Whole journey from its first step to its end, think times included
+    void journeyEnded(String journey, Journey.Outcome outcome, long nanos) {
+        journeys.get(outcome).increment();
+        if (outcome != Journey.Outcome.CUT_OFF) {
+            journeyLatencies.record(journey, nanos);
+        }
+    }
+
+    Map<String, EndpointStats> getSteps() {
+        return steps;
+    }
+
+    Map<String, LongAdder> getCorrelationFailures() {
+        return correlationFailures;
+    }
+
+    Map<String, LongAdder> getPaths() {
+        return paths;
+    }
+
+    long getJourneys(Journey.Outcome outcome) {
+        return journeys.get(outcome).sum();
+    }
+
+    LatencyRecorder getLatencies() {
+        return latencies;
+    }
+
+    LatencyRecorder getJourneyLatencies() {
+        return journeyLatencies;
+    }
+}
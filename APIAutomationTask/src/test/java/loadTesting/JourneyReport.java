@@ -0,0 +1,110 @@
+package loadTesting;
+
+import performance.LatencySummary;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of a JourneyEngine run: journeys completed, failed and cut off by the deadline, plus per-step metrics
+ * Step latency covers the API call only; journey latency covers a whole completed or failed journey, think times included
+ */
+public class JourneyReport {
+    private final String journey;
+    private final LoadProfile profile;
+    private final Duration elapsed;
+    private final JourneyMetrics metrics;
+
+    JourneyReport(String journey, LoadProfile profile, Duration elapsed, JourneyMetrics metrics) {
+        this.journey = journey;
+        this.profile = profile;
+        this.elapsed = elapsed;
+        this.metrics = metrics;
+    }
+
+    public String getJourney() {
+        return journey;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    // Journeys that ran to their last step
+    public long getCompletedJourneys() {
+        return metrics.getJourneys(Journey.Outcome.CONTINUE);
+    }
+
+    // Journeys ended early by a failing step that was not optional
+    public long getFailedJourneys() {
+        return metrics.getJourneys(Journey.Outcome.FAILED);
+    }
+
+    // Journeys still running when the profile duration elapsed; not counted as completed or failed
+    public long getCutOffJourneys() {
+        return metrics.getJourneys(Journey.Outcome.CUT_OFF);
+    }
+
+    public double getJourneyThroughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0.0 : getCompletedJourneys() / seconds;
+    }
+
+    public LatencySummary getJourneyLatency() {
+        return metrics.getJourneyLatencies().summary(journey);
+    }
+
+    public Collection<EndpointStats> getSteps() {
+        return metrics.getSteps().values();
+    }
+
+    public EndpointStats getStep(String step) {
+        return metrics.getSteps().get(step);
+    }
+
+    public LatencySummary getStepLatency(String step) {
+        return metrics.getLatencies().summary(step);
+    }
+
+    // Successful responses of the step that lacked a value the journey wanted to extract
+    public long getCorrelationFailures(String step) {
+        return metrics.getCorrelationFailures().get(step).sum();
+    }
+
+    // How often each branch path was taken
+    public Map<String, Long> getPaths() {
+        Map<String, Long> paths = new LinkedHashMap<>();
+        metrics.getPaths().forEach((path, count) -> paths.put(path, count.sum()));
+        return paths;
+    }
+
+    public void print() {
+        LatencySummary journeyLatency = getJourneyLatency();
+        System.out.println("========================================");
+        System.out.println("    Journey Results: " + journey);
+        System.out.println("========================================");
+        System.out.println("Profile: " + profile);
+        System.out.printf("Elapsed: %.2fs, Completed: %d, Failed: %d, Cut off: %d, Throughput: %.1f journeys/s%n",
+                elapsed.toMillis() / 1000.0, getCompletedJourneys(), getFailedJourneys(), getCutOffJourneys(),
+                getJourneyThroughput());
+        System.out.printf("Journey p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms (think times included)%n",
+                journeyLatency.getP50(), journeyLatency.getP90(), journeyLatency.getP99(), journeyLatency.getMax());
+        System.out.println("Paths taken: " + getPaths());
+        System.out.println("----------------------------------------");
+        for (EndpointStats stats : getSteps()) {
+            LatencySummary latency = getStepLatency(stats.getEndpoint());
+            System.out.printf("%-24s requests=%-8d errorRate=%6.2f%%  correlationFailures=%d  status=%s%n",
+                    stats.getEndpoint(), stats.getRequests(), stats.getErrorRate() * 100,
+                    getCorrelationFailures(stats.getEndpoint()), stats.getStatusCodes());
+            System.out.printf("%-24s p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n",
+                    "", latency.getP50(), latency.getP90(), latency.getP99(), latency.getP999(), latency.getMax());
+        }
+        System.out.println("========================================");
+    }
+}
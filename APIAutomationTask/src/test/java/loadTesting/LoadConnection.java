@@ -0,0 +1,75 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import utils.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * One coordinator-worker socket carrying one JSON message per line, each with a "type"
+ * An "error" message from the other side is rethrown by receive
+ */
+class LoadConnection implements AutoCloseable {
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final BufferedWriter writer;
+
+    LoadConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    static ObjectNode message(String type) {
+        return JsonMapper.mapper().createObjectNode().put("type", type);
+    }
+
+    void send(ObjectNode message) throws IOException {
+        writer.write(JsonMapper.mapper().writeValueAsString(message));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    JsonNode receive() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new EOFException("Connection to " + remote() + " closed");
+        }
+        JsonNode message = JsonMapper.mapper().readTree(line);
+        if ("error".equals(message.path("type").asText())) {
+            throw new IllegalStateException(remote() + " failed: " + message.path("message").asText());
+        }
+        return message;
+    }
+
+    JsonNode expect(String type) throws IOException {
+        JsonNode message = receive();
+        if (!type.equals(message.path("type").asText())) {
+            throw new IllegalStateException("Expected '" + type + "' from " + remote() + " but got '" + message.path("type").asText() + "'");
+        }
+        return message;
+    }
+
+    void timeout(Duration timeout) throws IOException {
+        socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, timeout.toMillis()));
+    }
+
+    String remote() {
+        return socket.getRemoteSocketAddress().toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
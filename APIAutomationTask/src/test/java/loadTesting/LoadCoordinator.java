@@ -0,0 +1,116 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spreads one load job over several LoadWorkers and merges their reports
+ * The virtual users are split evenly; once every worker is prepared, each is told to start after the same moment
+ * minus half its measured round trip, so the workers ramp up together whatever their distance to the coordinator
+ */
+public class LoadCoordinator {
+    private static final int PINGS = 5;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration PREPARE_TIMEOUT = Duration.ofSeconds(120);
+
+    private final List<InetSocketAddress> workers;
+    private final Duration startDelay;
+    private final List<LoadReport> workerReports = new ArrayList<>();
+
+    public LoadCoordinator(List<InetSocketAddress> workers, Duration startDelay) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one load worker is needed");
+        }
+        this.workers = List.copyOf(workers);
+        this.startDelay = startDelay;
+    }
+
+    // Parses "host:port,host:port"
+    public static List<InetSocketAddress> parseWorkers(String workers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String worker : workers.split(",")) {
+            String trimmed = worker.trim();
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Load worker must be host:port but was: " + trimmed);
+            }
+            addresses.add(new InetSocketAddress(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1))));
+        }
+        return addresses;
+    }
+
+    public LoadReport run(LoadJob job) throws IOException {
+        int concurrency = job.getProfile().getConcurrency();
+        if (concurrency < workers.size()) {
+            throw new IllegalArgumentException("Concurrency " + concurrency + " cannot be split over " + workers.size() + " workers");
+        }
+        List<LoadConnection> connections = new ArrayList<>();
+        List<LoadJob> jobs = new ArrayList<>();
+        workerReports.clear();
+        try {
+            for (int i = 0; i < workers.size(); i++) {
+                Socket socket = new Socket();
+                socket.connect(workers.get(i), (int) CONNECT_TIMEOUT.toMillis());
+                LoadConnection connection = new LoadConnection(socket);
+                connections.add(connection);
+                LoadJob share = job.withConcurrency(concurrency / workers.size() + (i < concurrency % workers.size() ? 1 : 0));
+                jobs.add(share);
+                ObjectNode prepare = LoadConnection.message("prepare");
+                prepare.set("job", share.toJson());
+                connection.timeout(PREPARE_TIMEOUT);
+                connection.send(prepare);
+            }
+            for (LoadConnection connection : connections) {
+                connection.expect("ready");
+            }
+
+            long[] halfRoundTrips = new long[connections.size()];
+            for (int i = 0; i < connections.size(); i++) {
+                halfRoundTrips[i] = roundTripNanos(connections.get(i)) / 2;
+            }
+            long startAt = System.nanoTime() + startDelay.toNanos();
+            for (int i = 0; i < connections.size(); i++) {
+                long delayNanos = startAt - System.nanoTime() - halfRoundTrips[i];
+                connections.get(i).send(LoadConnection.message("start").put("delayNanos", Math.max(0, delayNanos)));
+            }
+
+            Duration resultTimeout = startDelay.plus(job.getProfile().getDuration()).plus(PREPARE_TIMEOUT);
+            for (int i = 0; i < connections.size(); i++) {
+                LoadConnection connection = connections.get(i);
+                connection.timeout(resultTimeout);
+                workerReports.add(LoadReportCodec.decode(connection.expect("result").path("report"), jobs.get(i).getProfile()));
+            }
+        } finally {
+            for (LoadConnection connection : connections) {
+                connection.close();
+            }
+        }
+        return LoadReport.merge(job.getProfile(), workerReports);
+    }
+
+    // Reports of the last run, in worker order
+    public List<LoadReport> getWorkerReports() {
+        return List.copyOf(workerReports);
+    }
+
+    public List<InetSocketAddress> getWorkers() {
+        return workers;
+    }
+
+    private static long roundTripNanos(LoadConnection connection) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PINGS; i++) {
+            long start = System.nanoTime();
+            connection.send(LoadConnection.message("ping"));
+            connection.expect("pong");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
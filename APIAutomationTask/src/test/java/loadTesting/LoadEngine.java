@@ -0,0 +1,77 @@
+package loadTesting;
+
+import io.restassured.response.Response;
+import performance.LatencyRecorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generation engine running every virtual user on its own virtual thread
+ * Each virtual user cycles through the registered endpoints until the profile duration elapses
+ */
+public class LoadEngine {
+    private final Map<String, EndpointCall> endpoints = new LinkedHashMap<>();
+
+    public LoadEngine endpoint(String name, EndpointCall call) {
+        endpoints.put(name, call);
+        return this;
+    }
+
+    public LoadReport run(LoadProfile profile) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("No endpoints registered for the load run");
+        }
+        List<String> names = new ArrayList<>(endpoints.keySet());
+        List<EndpointCall> calls = new ArrayList<>(endpoints.values());
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        List<EndpointStats> statsByIndex = new ArrayList<>();
+        for (String name : names) {
+            EndpointStats endpointStats = new EndpointStats(name);
+            stats.put(name, endpointStats);
+            statsByIndex.add(endpointStats);
+        }
+
+        LatencyRecorder latencies = new LatencyRecorder();
+        long start = System.nanoTime();
+        long deadline = start + profile.getDuration().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < profile.getConcurrency(); user++) {
+                long startAt = start + profile.startDelayOf(user).toNanos();
+                int firstEndpoint = user % calls.size();
+                executor.submit(() -> runVirtualUser(startAt, deadline, firstEndpoint, names, calls, statsByIndex, latencies));
+            }
+            // Closing the executor waits for calls still in flight when the deadline passes
+        }
+        return new LoadReport(profile, Duration.ofNanos(System.nanoTime() - start), stats, latencies);
+    }
+
+    private static Void runVirtualUser(long startAt, long deadline, int firstEndpoint, List<String> names,
+                                       List<EndpointCall> calls, List<EndpointStats> stats,
+                                       LatencyRecorder latencies) throws InterruptedException {
+        long delay = startAt - System.nanoTime();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+        int index = firstEndpoint;
+        while (System.nanoTime() < deadline) {
+            EndpointStats endpointStats = stats.get(index);
+            long callStart = System.nanoTime();
+            try {
+                Response response = calls.get(index).execute();
+                latencies.record(names.get(index), System.nanoTime() - callStart);
+                endpointStats.recordResponse(response.getStatusCode());
+            } catch (Exception e) {
+                endpointStats.recordTransportError();
+            }
+            index = (index + 1) % calls.size();
+        }
+        return null;
+    }
+}
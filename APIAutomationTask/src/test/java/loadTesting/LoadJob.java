@@ -0,0 +1,80 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import testCases.CommonMethods;
+import transport.ApiTransport;
+import transport.Transports;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Scenario definition a LoadCoordinator hands to one LoadWorker: the scenario, the transport and that worker's share
+ * of the load profile
+ */
+public class LoadJob {
+    public static final String CHECKOUT = "checkout";
+
+    private final String scenario;
+    private final String transport;
+    private final LoadProfile profile;
+
+    public LoadJob(String scenario, String transport, LoadProfile profile) {
+        if (!CHECKOUT.equals(scenario)) {
+            throw new IllegalArgumentException("Unknown load scenario '" + scenario + "', expected " + CHECKOUT);
+        }
+        this.scenario = scenario;
+        this.transport = transport;
+        this.profile = profile;
+    }
+
+    public static LoadJob fromJson(JsonNode node) {
+        return new LoadJob(node.path("scenario").asText(), node.path("transport").asText(),
+                new LoadProfile(node.path("concurrency").asInt(),
+                        Duration.ofMillis(node.path("durationMillis").asLong()),
+                        Duration.ofMillis(node.path("rampUpMillis").asLong())));
+    }
+
+    public ObjectNode toJson() {
+        ObjectNode node = JsonMapper.mapper().createObjectNode();
+        node.put("scenario", scenario);
+        node.put("transport", transport);
+        node.put("concurrency", profile.getConcurrency());
+        node.put("durationMillis", profile.getDuration().toMillis());
+        node.put("rampUpMillis", profile.getRampUp().toMillis());
+        return node;
+    }
+
+    // Builds the scenario on a transport from createTransport, against this JVM's configured baseUrl
+    public LoadEngine createEngine(ApiTransport apiTransport) throws IOException {
+        return CheckoutLoadScenario.create(new CommonMethods(apiTransport));
+    }
+
+    public ApiTransport createTransport() {
+        return Transports.create(transport);
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    // This job with the given share of the virtual users
+    public LoadJob withConcurrency(int concurrency) {
+        return new LoadJob(scenario, transport, new LoadProfile(concurrency, profile.getDuration(), profile.getRampUp()));
+    }
+
+    @Override
+    public String toString() {
+        return scenario + " over " + transport + " (" + profile + ")";
+    }
+}
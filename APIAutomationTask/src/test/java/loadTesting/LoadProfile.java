@@ -0,0 +1,58 @@
+package loadTesting;
+
+import java.time.Duration;
+
+/**
+ * Load profile for a load engine run
+ * Defines how many virtual users are started, how long they run and how fast they ramp up
+ */
+public class LoadProfile {
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration rampUp;
+
+    public LoadProfile(int concurrency, Duration duration, Duration rampUp) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1 but was: " + concurrency);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive but was: " + duration);
+        }
+        if (rampUp.isNegative() || rampUp.compareTo(duration) > 0) {
+            throw new IllegalArgumentException("Ramp-up must be between 0 and the duration but was: " + rampUp);
+        }
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.rampUp = rampUp;
+    }
+
+    // Reads -Dload.concurrency, -Dload.durationSeconds and -Dload.rampUpSeconds, falling back to the given defaults
+    public static LoadProfile fromSystemProperties(int concurrency, int durationSeconds, int rampUpSeconds) {
+        return new LoadProfile(
+                Integer.getInteger("load.concurrency", concurrency),
+                Duration.ofSeconds(Integer.getInteger("load.durationSeconds", durationSeconds)),
+                Duration.ofSeconds(Integer.getInteger("load.rampUpSeconds", rampUpSeconds)));
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    // Delay before the given virtual user (0-based) is started
+    public Duration startDelayOf(int virtualUser) {
+        return rampUp.multipliedBy(virtualUser).dividedBy(concurrency);
+    }
+
+    @Override
+    public String toString() {
+        return "concurrency=" + concurrency + ", duration=" + duration.toSeconds() + "s, rampUp=" + rampUp.toSeconds() + "s";
+    }
+}
@@ -0,0 +1,121 @@
+package loadTesting;
+
+import connection.ConnectionPool;
+import connection.ConnectionPoolStats;
+import org.HdrHistogram.Histogram;
+import performance.LatencyRecorder;
+import performance.LatencySummary;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a load engine run
+ * Exposes throughput, error rates and latency percentiles per endpoint and for the whole run
+ */
+public class LoadReport {
+    private final LoadProfile profile;
+    private final Duration elapsed;
+    private final Map<String, EndpointStats> endpoints;
+    private final LatencyRecorder latencies;
+
+    public LoadReport(LoadProfile profile, Duration elapsed, Map<String, EndpointStats> endpoints, LatencyRecorder latencies) {
+        this.profile = profile;
+        this.elapsed = elapsed;
+        this.endpoints = Collections.unmodifiableMap(new LinkedHashMap<>(endpoints));
+        this.latencies = latencies;
+    }
+
+    /**
+     * One report over the reports of several load generators that ran the same endpoints at the same time
+     * Counters and latency histograms are summed; the elapsed time is that of the slowest generator
+     */
+    public static LoadReport merge(LoadProfile profile, List<LoadReport> reports) {
+        Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+        LatencyRecorder latencies = new LatencyRecorder();
+        Duration elapsed = Duration.ZERO;
+        for (LoadReport report : reports) {
+            for (EndpointStats stats : report.getEndpoints()) {
+                endpoints.computeIfAbsent(stats.getEndpoint(), EndpointStats::new)
+                        .add(stats.getRequests(), stats.getErrors(), stats.getTransportErrors(), stats.getStatusCodes());
+                latencies.add(stats.getEndpoint(), report.getHistogram(stats.getEndpoint()));
+            }
+            elapsed = elapsed.compareTo(report.getElapsed()) < 0 ? report.getElapsed() : elapsed;
+        }
+        return new LoadReport(profile, elapsed, endpoints, latencies);
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public Collection<EndpointStats> getEndpoints() {
+        return endpoints.values();
+    }
+
+    public EndpointStats getEndpoint(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    public LatencySummary getLatency(String endpoint) {
+        return latencies.summary(endpoint);
+    }
+
+    // Latencies of the endpoint in microseconds
+    public Histogram getHistogram(String endpoint) {
+        return latencies.histogram(endpoint);
+    }
+
+    public long getTotalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getRequests).sum();
+    }
+
+    public long getTotalErrors() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getErrors).sum();
+    }
+
+    public double getThroughput() {
+        return throughputOf(getTotalRequests());
+    }
+
+    public double getThroughput(String endpoint) {
+        return throughputOf(endpoints.get(endpoint).getRequests());
+    }
+
+    private double throughputOf(long requests) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0.0 : requests / seconds;
+    }
+
+    public void print() {
+        System.out.println("========================================");
+        System.out.println("    Load Test Results");
+        System.out.println("========================================");
+        System.out.println("Profile: " + profile);
+        System.out.printf("Elapsed: %.2fs, Requests: %d, Throughput: %.1f req/s, Errors: %d%n",
+                elapsed.toMillis() / 1000.0, getTotalRequests(), getThroughput(), getTotalErrors());
+        // Only meaningful when the load came from this JVM's pooled connections, not from distributed workers
+        ConnectionPoolStats pool = ConnectionPool.stats();
+        if (pool.getHits() + pool.getMisses() > 0) {
+            System.out.println("Connection pool: " + pool);
+        }
+        System.out.println("----------------------------------------");
+        for (EndpointStats stats : endpoints.values()) {
+            LatencySummary latency = getLatency(stats.getEndpoint());
+            System.out.printf("%-24s requests=%-8d throughput=%8.1f req/s  errorRate=%6.2f%%  status=%s%n",
+                    stats.getEndpoint(), stats.getRequests(), getThroughput(stats.getEndpoint()),
+                    stats.getErrorRate() * 100, stats.getStatusCodes());
+            System.out.printf("%-24s p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n",
+                    "", latency.getP50(), latency.getP90(), latency.getP99(), latency.getP999(), latency.getMax());
+        }
+        System.out.println("========================================");
+    }
+}
@@ -0,0 +1,61 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import performance.BaselineRun;
+import performance.LatencyRecorder;
+import utils.JsonMapper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JSON form of a LoadReport sent from a LoadWorker to the LoadCoordinator
+ * Latencies travel as compressed HdrHistograms, so the coordinator merges full distributions rather than percentiles
+ */
+public final class LoadReportCodec {
+
+    private LoadReportCodec() {
+    }
+
+    public static ObjectNode encode(LoadReport report) {
+        ObjectNode node = JsonMapper.mapper().createObjectNode();
+        node.put("elapsedNanos", report.getElapsed().toNanos());
+        ArrayNode endpoints = node.putArray("endpoints");
+        for (EndpointStats stats : report.getEndpoints()) {
+            ObjectNode endpoint = endpoints.addObject();
+            endpoint.put("name", stats.getEndpoint());
+            endpoint.put("requests", stats.getRequests());
+            endpoint.put("errors", stats.getErrors());
+            endpoint.put("transportErrors", stats.getTransportErrors());
+            ObjectNode statusCodes = endpoint.putObject("statusCodes");
+            stats.getStatusCodes().forEach((code, count) -> statusCodes.put(String.valueOf(code), count));
+            endpoint.put("histogram", BaselineRun.encode(report.getHistogram(stats.getEndpoint())));
+        }
+        return node;
+    }
+
+    public static LoadReport decode(JsonNode node, LoadProfile profile) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        LatencyRecorder latencies = new LatencyRecorder();
+        for (JsonNode endpoint : node.path("endpoints")) {
+            String name = endpoint.path("name").asText();
+            Map<Integer, Long> statusCodes = new TreeMap<>();
+            endpoint.path("statusCodes").fields().forEachRemaining(entry ->
+                    statusCodes.put(Integer.parseInt(entry.getKey()), entry.getValue().asLong()));
+            EndpointStats endpointStats = new EndpointStats(name);
+            endpointStats.add(endpoint.path("requests").asLong(), endpoint.path("errors").asLong(),
+                    endpoint.path("transportErrors").asLong(), statusCodes);
+            stats.put(name, endpointStats);
+            try {
+                latencies.add(name, BaselineRun.decode(endpoint.path("histogram").asText()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Unreadable latency histogram from load worker", e);
+            }
+        }
+        return new LoadReport(profile, Duration.ofNanos(node.path("elapsedNanos").asLong()), stats, latencies);
+    }
+}
@@ -0,0 +1,88 @@
+package loadTesting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import transport.ApiTransport;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.SocketException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator process driven by a LoadCoordinator over a plain socket
+ * For every coordinator connection: prepare the job's scenario, answer pings, wait for "start", run the LoadEngine
+ * and send back its report with full latency histograms. Coordinators are served one at a time
+ */
+public class LoadWorker implements AutoCloseable {
+    private final ServerSocket server;
+
+    // Port 0 picks a free port, see getPort
+    public LoadWorker(int port) throws IOException {
+        this.server = new ServerSocket(port);
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    // Serves coordinators until closed, or returns after the first one when once is set
+    public void serve(boolean once) {
+        while (!server.isClosed()) {
+            try (LoadConnection connection = new LoadConnection(server.accept())) {
+                handle(connection);
+            } catch (IOException e) {
+                if (server.isClosed()) {
+                    return;
+                }
+                System.err.println("Load worker lost its coordinator: " + e.getMessage());
+            }
+            if (once) {
+                return;
+            }
+        }
+    }
+
+    private void handle(LoadConnection connection) throws IOException {
+        try {
+            LoadJob job = LoadJob.fromJson(connection.expect("prepare").path("job"));
+            System.out.println("Load worker preparing " + job + " for " + connection.remote());
+            try (ApiTransport transport = job.createTransport()) {
+                LoadEngine engine = job.createEngine(transport);
+                connection.send(LoadConnection.message("ready"));
+
+                JsonNode message = connection.receive();
+                while ("ping".equals(message.path("type").asText())) {
+                    connection.send(LoadConnection.message("pong"));
+                    message = connection.receive();
+                }
+                if (!"start".equals(message.path("type").asText())) {
+                    throw new IllegalStateException("Expected 'start' but got '" + message.path("type").asText() + "'");
+                }
+                long delayNanos = message.path("delayNanos").asLong();
+                if (delayNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                }
+                LoadReport report = engine.run(job.getProfile());
+                System.out.printf("Load worker sent %d requests in %.1fs%n", report.getTotalRequests(), report.getElapsed().toMillis() / 1000.0);
+                ObjectNode result = LoadConnection.message("result");
+                result.set("report", LoadReportCodec.encode(report));
+                connection.send(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            connection.send(LoadConnection.message("error").put("message", "Load worker interrupted"));
+        } catch (SocketException e) {
+            // the coordinator is gone, nobody to report to
+            throw e;
+        } catch (RuntimeException | IOException e) {
+            System.err.println("Load worker failed: " + e);
+            connection.send(LoadConnection.message("error").put("message", String.valueOf(e)));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+}
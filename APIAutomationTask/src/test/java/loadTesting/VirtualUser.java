@@ -0,0 +1,58 @@
+package loadTesting;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * State of one virtual user running a Journey: its id, the current iteration and the values extracted so far
+ * Only ever touched by the user's own thread; values are cleared at the start of every iteration
+ */
+public class VirtualUser {
+    private final int id;
+    private final Random random;
+    private final Map<String, String> values = new HashMap<>();
+    private long iteration = -1;
+
+    public VirtualUser(int id, long seed) {
+        this.id = id;
+        this.random = new Random(seed);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // 0-based number of the journey the user is currently running
+    public long getIteration() {
+        return iteration;
+    }
+
+    // Drives weighted branches and random think times; seeded per user so a run can be repeated
+    public Random getRandom() {
+        return random;
+    }
+
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    public String get(String name) {
+        String value = values.get(name);
+        if (value == null) {
+            throw new IllegalStateException("No value '" + name + "' extracted for virtual user " + id
+                    + " in iteration " + iteration + ", extracted: " + values.keySet());
+        }
+        return value;
+    }
+
+    public VirtualUser set(String name, String value) {
+        values.put(name, value);
+        return this;
+    }
+
+    void nextIteration() {
+        values.clear();
+        iteration++;
+    }
+}
@@ -0,0 +1,135 @@
+package logging;
+
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-thread ring buffer of HTTP exchanges, flushed only when a test fails
+ * Each test thread records into its own buffer, so nothing is written to the console on the happy path
+ * and parallel tests never interleave their output
+ *
+ * Verbosity and capacity come from httpLogVerbosity (none|summary|headers|all) and httpLogBufferSize in config.properties.
+ */
+public final class ExchangeLog {
+    private static final ThreadLocal<Buffer> CURRENT = ThreadLocal.withInitial(Buffer::new);
+
+    private ExchangeLog() {
+    }
+
+    /**
+     * Buffer of the calling thread; hand it to runWith to record exchanges made on other threads into it
+     */
+    public static Buffer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T runWith(Buffer buffer, Supplier<T> action) {
+        Buffer previous = CURRENT.get();
+        CURRENT.set(buffer);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static LogVerbosity verbosity() {
+        return LogVerbosity.parse(ConfigurationManager.current().getString("httpLogVerbosity", "all"));
+    }
+
+    public static void clear() {
+        current().clear();
+    }
+
+    public static List<String> drain() {
+        return current().drain();
+    }
+
+    /**
+     * Records one exchange into the given buffer at the configured verbosity
+     * Only references are kept; headers and bodies are formatted when a failing test drains the buffer, so passing
+     * tests and load runs never pay for building the log text
+     */
+    public static void record(Buffer buffer, String method, String uri, Supplier<Map<String, String>> requestHeaders,
+                              String requestBody, int statusCode, Supplier<Map<String, String>> responseHeaders,
+                              Supplier<String> responseBody, long elapsedMillis) {
+        LogVerbosity verbosity = verbosity();
+        if (verbosity == LogVerbosity.NONE) {
+            return;
+        }
+        buffer.add(new Exchange(verbosity, method, uri, requestHeaders, requestBody, statusCode, responseHeaders,
+                responseBody, elapsedMillis));
+    }
+
+    private record Exchange(LogVerbosity verbosity, String method, String uri, Supplier<Map<String, String>> requestHeaders,
+                            String requestBody, int statusCode, Supplier<Map<String, String>> responseHeaders,
+                            Supplier<String> responseBody, long elapsedMillis) {
+
+        String format() {
+            StringBuilder entry = new StringBuilder()
+                    .append(method).append(' ').append(uri)
+                    .append(" -> ").append(statusCode)
+                    .append(" (").append(elapsedMillis).append(" ms)");
+            if (verbosity.compareTo(LogVerbosity.HEADERS) >= 0) {
+                appendHeaders(entry, "Request headers", requestHeaders.get());
+            }
+            if (verbosity == LogVerbosity.ALL && requestBody != null && !requestBody.isEmpty()) {
+                entry.append(System.lineSeparator()).append("Request body: ").append(requestBody);
+            }
+            if (verbosity.compareTo(LogVerbosity.HEADERS) >= 0) {
+                appendHeaders(entry, "Response headers", responseHeaders.get());
+            }
+            String body = verbosity == LogVerbosity.ALL ? responseBody.get() : null;
+            if (body != null && !body.isEmpty()) {
+                entry.append(System.lineSeparator()).append("Response body: ").append(body);
+            }
+            return entry.toString();
+        }
+    }
+
+    private static void appendHeaders(StringBuilder entry, String title, Map<String, String> headers) {
+        entry.append(System.lineSeparator()).append(title).append(':');
+        headers.forEach((name, value) -> entry.append(System.lineSeparator()).append("    ").append(name).append('=').append(value));
+    }
+
+    /**
+     * Fixed-capacity buffer dropping its oldest entry when full
+     * Synchronized because async requests of one test may complete on other threads
+     */
+    public static final class Buffer {
+        private final ArrayDeque<Exchange> entries = new ArrayDeque<>();
+
+        private synchronized void add(Exchange entry) {
+            ConfigSnapshot config = ConfigurationManager.current();
+            int capacity = Math.max(config.getInt("httpLogBufferSize", 32), 1);
+            while (entries.size() >= capacity) {
+                entries.pollFirst();
+            }
+            entries.addLast(entry);
+        }
+
+        // Formats the buffered exchanges, oldest first, and empties the buffer
+        public List<String> drain() {
+            List<Exchange> drained;
+            synchronized (this) {
+                drained = new ArrayList<>(entries);
+                entries.clear();
+            }
+            List<String> formatted = new ArrayList<>(drained.size());
+            for (Exchange exchange : drained) {
+                formatted.add(exchange.format());
+            }
+            return formatted;
+        }
+
+        public synchronized void clear() {
+            entries.clear();
+        }
+    }
+}
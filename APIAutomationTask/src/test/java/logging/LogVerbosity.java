@@ -0,0 +1,19 @@
+package logging;
+
+import java.util.Locale;
+
+/**
+ * How much of each HTTP exchange is kept in the ring buffer
+ * SUMMARY keeps the request line, status and duration; HEADERS adds headers; ALL adds bodies
+ */
+public enum LogVerbosity {
+    NONE, SUMMARY, HEADERS, ALL;
+
+    public static LogVerbosity parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ALL;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package logging;
+
+import io.restassured.response.Response;
+import utils.ConfigurationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Last responses received by each test thread, newest last
+ * Filled by ResponseCaptureFilter and the java.net.http transport, read by TestNGListener on failure;
+ * the number kept per thread is responseRegistrySize in config.properties
+ */
+public final class ResponseRegistry {
+    private static final ThreadLocal<Slots> CURRENT = ThreadLocal.withInitial(Slots::new);
+
+    private ResponseRegistry() {
+    }
+
+    /**
+     * Slots of the calling thread; hand them to runWith to record responses received on other threads into them
+     */
+    public static Slots current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T runWith(Slots slots, Supplier<T> action) {
+        Slots previous = CURRENT.get();
+        CURRENT.set(slots);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void record(Response response) {
+        current().add(response);
+    }
+
+    public static List<Response> recent() {
+        return current().list();
+    }
+
+    public static void clear() {
+        current().clear();
+    }
+
+    /**
+     * Fixed-capacity slots dropping the oldest response when full
+     * Synchronized because async requests of one test may complete on other threads
+     */
+    public static final class Slots {
+        private final ArrayDeque<Response> responses = new ArrayDeque<>();
+
+        public synchronized void add(Response response) {
+            int capacity = Math.max(ConfigurationManager.current().getInt("responseRegistrySize", 5), 1);
+            while (responses.size() >= capacity) {
+                responses.pollFirst();
+            }
+            responses.addLast(response);
+        }
+
+        public synchronized List<Response> list() {
+            return new ArrayList<>(responses);
+        }
+
+        public synchronized void clear() {
+            responses.clear();
+        }
+    }
+}
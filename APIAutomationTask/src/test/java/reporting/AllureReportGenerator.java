@@ -0,0 +1,153 @@
+package reporting;
+
+import io.qameta.allure.ConfigurationBuilder;
+import io.qameta.allure.Extension;
+import io.qameta.allure.ReportGenerator;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.ga.GaPlugin;
+import utils.ConfigurationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates the Allure HTML report in-process with the Allure report generator library
+ * Only result files written since the given instant are processed; the history of the previous report is carried
+ * over, so trends survive without re-reading every result the results directory has accumulated
+ *
+ * Directories come from allureResultsDir and allureReportDir in config.properties. Runs on any OS from the command line:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=reporting.AllureReportGenerator -Dexec.args="open"
+ */
+public final class AllureReportGenerator {
+    // Launch-level files Allure reads alongside the results, kept whatever their age
+    private static final Set<String> LAUNCH_FILES = Set.of("environment.properties", "environment.xml", "executor.json", "categories.json");
+
+    private AllureReportGenerator() {
+    }
+
+    /**
+     * Arguments: generate (default) or open, optionally followed by an ISO-8601 instant to only include newer results
+     */
+    public static void main(String[] args) throws IOException {
+        String command = args.length > 0 ? args[0] : "generate";
+        Instant since = args.length > 1 ? Instant.parse(args[1]) : Instant.EPOCH;
+        Path report = generate(resultsDirectory(), reportDirectory(), since);
+        System.out.println("Allure report generated: " + report.toAbsolutePath());
+        if ("open".equals(command)) {
+            AllureReportViewer.open(report);
+        }
+    }
+
+    public static Path resultsDirectory() {
+        return Paths.get(ConfigurationManager.current().getString("allureResultsDir", "allure-results"));
+    }
+
+    public static Path reportDirectory() {
+        return Paths.get(ConfigurationManager.current().getString("allureReportDir", "target/allure-report"));
+    }
+
+    /**
+     * Generates the report on a background thread, leaving the calling thread free
+     */
+    public static CompletableFuture<Path> generateInBackground(Instant since) {
+        CompletableFuture<Path> report = new CompletableFuture<>();
+        Thread generator = new Thread(() -> {
+            try {
+                report.complete(generate(resultsDirectory(), reportDirectory(), since));
+            } catch (Throwable e) {
+                report.completeExceptionally(e);
+            }
+        }, "allure-report-generator");
+        generator.start();
+        return report;
+    }
+
+    /**
+     * Generates the report from the results written at or after since; pass Instant.EPOCH for every result
+     */
+    public static Path generate(Path resultsDir, Path reportDir, Instant since) throws IOException {
+        Path staging = reportDir.resolveSibling(reportDir.getFileName() + "-results");
+        deleteRecursively(staging);
+        Files.createDirectories(staging);
+        if (Files.isDirectory(resultsDir)) {
+            try (Stream<Path> files = Files.list(resultsDir)) {
+                for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    if (LAUNCH_FILES.contains(file.getFileName().toString())
+                            || !Files.getLastModifiedTime(file).toInstant().isBefore(since)) {
+                        link(file, staging.resolve(file.getFileName()));
+                    }
+                }
+            }
+        }
+        Path history = reportDir.resolve("history");
+        if (Files.isDirectory(history)) {
+            copyRecursively(history, staging.resolve("history"));
+        }
+
+        deleteRecursively(reportDir);
+        new ReportGenerator(configuration()).generate(reportDir, List.of(staging));
+        deleteRecursively(staging);
+        return reportDir;
+    }
+
+    // Default Allure extensions minus the analytics plugin, which would phone home on every generation
+    private static Configuration configuration() {
+        List<Extension> extensions = new ConfigurationBuilder().useDefault().build().getExtensions().stream()
+                .filter(extension -> !(extension instanceof GaPlugin))
+                .collect(Collectors.toList());
+        return new ConfigurationBuilder().fromExtensions(extensions).build();
+    }
+
+    // Hard links cost no copying; fall back to a copy where the file system does not support them
+    private static void link(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source.toAbsolutePath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void copyRecursively(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package reporting;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.SimpleFileServer;
+
+import java.awt.Desktop;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Serves a generated Allure report over HTTP and opens it in the default browser when there is one
+ * The report loads its data with XHR, which browsers refuse for file:// URLs, hence the local server
+ */
+public final class AllureReportViewer {
+
+    private AllureReportViewer() {
+    }
+
+    public static HttpServer open(Path reportDir) throws IOException {
+        HttpServer server = SimpleFileServer.createFileServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                reportDir.toAbsolutePath(), SimpleFileServer.OutputLevel.NONE);
+        server.start();
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+        System.out.println("Allure report served at " + uri + " (Ctrl+C to stop)");
+        if (Desktop.isDesktopSupported() && Desktop.getDesktop().isSupported(Desktop.Action.BROWSE)) {
+            Desktop.getDesktop().browse(uri);
+        }
+        return server;
+    }
+}
@@ -0,0 +1,49 @@
+package reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.testng.IExecutionListener;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+/**
+ * Installs the CompactingResultsWriter as the Allure results writer
+ * Registered through META-INF/services like AllureTestNg itself, and listed first on the test classpath, so the
+ * lifecycle is replaced before AllureTestNg picks it up; allureCompactResults=false keeps the stock writer
+ */
+public class AllureResultsInstaller implements IExecutionListener {
+    private static volatile CompactingResultsWriter writer;
+
+    public AllureResultsInstaller() {
+        install();
+    }
+
+    public static synchronized void install() {
+        ConfigSnapshot config = ConfigurationManager.current();
+        if (writer != null || !config.getBoolean("allureCompactResults", true)) {
+            return;
+        }
+        writer = new CompactingResultsWriter(AllureReportGenerator.resultsDirectory(),
+                config.getInt("allureAttachmentMaxBytes", 1024 * 1024),
+                config.getInt("allureAttachmentGzipBytes", 64 * 1024));
+        Allure.setLifecycle(new AllureLifecycle(writer));
+    }
+
+    /**
+     * Waits for queued results and attachments to reach disk; a no-op with the stock writer
+     */
+    public static void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public static String stats() {
+        return writer == null ? "stock writer" : writer.stats();
+    }
+
+    @Override
+    public void onExecutionFinish() {
+        flush();
+    }
+}
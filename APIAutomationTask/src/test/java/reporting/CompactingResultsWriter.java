@@ -0,0 +1,267 @@
+package reporting;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.internal.Allure2ModelJackson;
+import io.qameta.allure.internal.shadowed.jackson.databind.ObjectMapper;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.model.WithAttachments;
+import io.qameta.allure.model.WithSteps;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Allure results writer that keeps disk work off the test threads
+ * Attachments are capped at a maximum size and stored once per distinct content; text and images stay viewable in the
+ * report, other attachments are gzipped above a threshold. Results referencing a duplicate or compressed attachment are
+ * rewritten to point at the stored file. Everything is queued and written by a single background thread, one file per
+ * result or attachment, in the order it was handed over
+ */
+public final class CompactingResultsWriter implements AllureResultsWriter {
+    private static final String GZIP_TYPE = "application/gzip";
+    // Shown inline by the Allure UI, so never compressed into a download
+    private static final Set<String> VIEWABLE_EXTENSIONS = Set.of(".txt", ".log", ".json", ".xml", ".html", ".htm",
+            ".csv", ".tsv", ".yaml", ".yml", ".md", ".uri", ".png", ".jpg", ".jpeg", ".gif", ".svg", ".webp", ".mp4", ".webm");
+
+    private final Path directory;
+    private final int maxAttachmentBytes;
+    private final int compressionThresholdBytes;
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    // Original attachment source -> file actually written; only touched by the writer thread
+    private final Map<String, StoredAttachment> stored = new HashMap<>();
+    private final Map<String, StoredAttachment> byHash = new HashMap<>();
+    private final Thread writer;
+    // Only touched by the writer thread
+    private boolean directoryCreated;
+    private final AtomicLong attachments = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong compressed = new AtomicLong();
+    private final AtomicLong truncated = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public CompactingResultsWriter(Path directory, int maxAttachmentBytes, int compressionThresholdBytes) {
+        this.directory = directory;
+        this.maxAttachmentBytes = maxAttachmentBytes;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+        this.writer = new Thread(this::drainLoop, "allure-results-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "allure-results-writer-stop"));
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        enqueue(() -> {
+            rewriteAttachments(testResult);
+            testResult.getSteps().forEach(this::rewriteSteps);
+            writeJson(testResult.getUuid() + "-result.json", testResult);
+        });
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        enqueue(() -> {
+            for (List<FixtureResult> fixtures : List.of(testResultContainer.getBefores(), testResultContainer.getAfters())) {
+                for (FixtureResult fixture : fixtures) {
+                    rewriteAttachments(fixture);
+                    rewriteSteps(fixture);
+                }
+            }
+            writeJson(testResultContainer.getUuid() + "-container.json", testResultContainer);
+        });
+    }
+
+    // The stream belongs to the caller, so it is read here; only the capped bytes are kept until they are written
+    @Override
+    public void write(String source, InputStream attachment) {
+        byte[] content;
+        long originalSize;
+        try (InputStream in = attachment) {
+            content = in.readNBytes(maxAttachmentBytes);
+            long rest = in.transferTo(OutputStream.nullOutputStream());
+            originalSize = content.length + rest;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read Allure attachment " + source, e);
+        }
+        byte[] capped = originalSize > content.length ? truncate(source, content, originalSize) : content;
+        enqueue(() -> writeAttachment(source, capped));
+    }
+
+    /**
+     * Waits until everything handed over so far is on disk
+     */
+    public void flush() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(() -> done.complete(null));
+        try {
+            done.get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Allure results were not flushed: " + e);
+        }
+    }
+
+    public String stats() {
+        return "attachments=" + attachments.get() + " deduplicated=" + deduplicated.get() + " compressed=" + compressed.get()
+                + " truncated=" + truncated.get() + " written=" + bytesWritten.get() / 1024 + "KB saved=" + bytesSaved.get() / 1024 + "KB";
+    }
+
+    private void enqueue(Runnable task) {
+        queue.offer(task);
+        LockSupport.unpark(writer);
+    }
+
+    private void drainLoop() {
+        while (true) {
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Unable to write Allure results: " + e.getMessage());
+                }
+            }
+            // enqueue unparks this thread; a permit given before parking makes park return at once
+            LockSupport.park(this);
+        }
+    }
+
+    private byte[] truncate(String source, byte[] content, long originalSize) {
+        truncated.incrementAndGet();
+        int length = content.length;
+        if (isViewable(source)) {
+            // Cut text at a character boundary so the marker follows valid UTF-8
+            while (length > 0 && (content[length - 1] & 0xC0) == 0x80) {
+                length--;
+            }
+            if (length > 0 && (content[length - 1] & 0x80) != 0) {
+                length--;
+            }
+            content = Arrays.copyOf(content, length);
+        }
+        byte[] marker = ("\n... [truncated " + (originalSize - content.length) + " of " + originalSize + " bytes]")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] capped = new byte[content.length + marker.length];
+        System.arraycopy(content, 0, capped, 0, content.length);
+        System.arraycopy(marker, 0, capped, content.length, marker.length);
+        return capped;
+    }
+
+    private void writeAttachment(String source, byte[] content) {
+        attachments.incrementAndGet();
+        String hash = sha256(content);
+        StoredAttachment existing = byHash.get(hash);
+        if (existing != null) {
+            deduplicated.incrementAndGet();
+            bytesSaved.addAndGet(content.length);
+            stored.put(source, existing);
+            return;
+        }
+        StoredAttachment attachment = content.length >= compressionThresholdBytes && !isViewable(source)
+                ? new StoredAttachment(source + ".gz", true)
+                : new StoredAttachment(source, false);
+        byte[] bytes = attachment.compressed() ? gzip(content) : content;
+        if (attachment.compressed()) {
+            compressed.incrementAndGet();
+            bytesSaved.addAndGet(content.length - bytes.length);
+        }
+        writeFile(attachment.source(), bytes);
+        byHash.put(hash, attachment);
+        stored.put(source, attachment);
+    }
+
+    private void rewriteSteps(WithSteps parent) {
+        for (StepResult step : parent.getSteps()) {
+            rewriteAttachments(step);
+            rewriteSteps(step);
+        }
+    }
+
+    private void rewriteAttachments(WithAttachments owner) {
+        for (Attachment attachment : owner.getAttachments()) {
+            StoredAttachment target = attachment.getSource() == null ? null : stored.get(attachment.getSource());
+            if (target == null) {
+                continue;
+            }
+            attachment.setSource(target.source());
+            if (target.compressed()) {
+                attachment.setType(GZIP_TYPE);
+            }
+        }
+    }
+
+    private void writeJson(String fileName, Object value) {
+        try {
+            writeFile(fileName, mapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize Allure result " + fileName, e);
+        }
+    }
+
+    private static boolean isViewable(String source) {
+        int dot = source.lastIndexOf('.');
+        return dot >= 0 && VIEWABLE_EXTENSIONS.contains(source.substring(dot).toLowerCase(Locale.ROOT));
+    }
+
+    private void writeFile(String fileName, byte[] bytes) {
+        try {
+            if (!directoryCreated) {
+                Files.createDirectories(directory);
+                directoryCreated = true;
+            }
+            Files.write(directory.resolve(fileName), bytes);
+            bytesWritten.addAndGet(bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write Allure result " + fileName, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StoredAttachment(String source, boolean compressed) {
+    }
+}
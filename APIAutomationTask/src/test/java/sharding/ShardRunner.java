@@ -0,0 +1,152 @@
+package sharding;
+
+import mockServer.EmbeddedMockServer;
+import org.HdrHistogram.Histogram;
+import performance.BaselineRun;
+import performance.BaselineStore;
+import performance.LatencyRecorder;
+import performance.RegressionFinding;
+import performance.RegressionGate;
+import reporting.AllureReportGenerator;
+import utils.ChildJvm;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs a suite as parallel shards, one TestNG JVM per shard, each running the part ShardSelector plans for it
+ * The shards share the run ID, the mock server started here and the Allure results, from which one report is generated;
+ * the performance regression gate runs here, on the merged latencies of all shards
+ *
+ * Arguments: suite file (TestNg.xml by default) and shard count (shardCount in config.properties by default):
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=sharding.ShardRunner -Dexec.args="TestNg.xml 2"
+ */
+public final class ShardRunner {
+    private ShardRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String suite = args.length > 0 ? args[0] : "TestNg.xml";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : ConfigurationManager.current().getInt("shardCount", 2);
+        String runId = UUID.randomUUID().toString();
+        Path directory = Paths.get("target", "shards");
+        Files.createDirectories(directory);
+        for (int index = 1; index <= count; index++) {
+            Files.deleteIfExists(latenciesFile(directory, index));
+        }
+        Instant start = Instant.now();
+
+        EmbeddedMockServer.startIfEnabled();
+        try {
+            System.out.println("Running " + suite + " as " + count + " shards, run " + runId);
+            List<Process> processes = new ArrayList<>();
+            for (int index = 1; index <= count; index++) {
+                processes.add(new ProcessBuilder(command(suite, index, count, runId, directory))
+                        .redirectErrorStream(true)
+                        .redirectOutput(directory.resolve("shard-" + index + ".log").toFile())
+                        .start());
+            }
+
+            int failed = 0;
+            for (int index = 1; index <= count; index++) {
+                int exitCode = processes.get(index - 1).waitFor();
+                // TestNG exits with 8 when a shard had no tests left to run
+                boolean passed = exitCode == 0 || exitCode == 8;
+                if (!passed) {
+                    failed++;
+                }
+                System.out.printf("Shard %d/%d %s (exit code %d) after %.1fs, log: %s%n", index, count,
+                        passed ? "passed" : "FAILED", exitCode, Duration.between(start, Instant.now()).toMillis() / 1000.0,
+                        directory.resolve("shard-" + index + ".log").toAbsolutePath());
+            }
+            System.out.printf("All shards finished in %.1fs%n", Duration.between(start, Instant.now()).toMillis() / 1000.0);
+            boolean gatePassed = gateMergedLatencies(directory, count);
+
+            if (ConfigurationManager.current().getBoolean("allureReport", true)) {
+                Path report = AllureReportGenerator.generate(AllureReportGenerator.resultsDirectory(), AllureReportGenerator.reportDirectory(), start);
+                System.out.println("Allure report generated: " + report.toAbsolutePath());
+            }
+            if (failed > 0) {
+                throw new IllegalStateException(failed + " of " + count + " shards failed");
+            }
+            if (!gatePassed) {
+                throw new IllegalStateException("Latency regressions of the merged shards against the baseline");
+            }
+        } finally {
+            EmbeddedMockServer.stopShared();
+        }
+    }
+
+    /**
+     * Gates the latencies of all shards together: every run splits the same suite, whatever each shard got
+     * Returns true when the gate passed or could not judge, e.g. because a shard stopped before recording its latencies
+     */
+    private static boolean gateMergedLatencies(Path directory, int count) {
+        ConfigSnapshot config = ConfigurationManager.current();
+        if (!config.getBoolean("perfGate", true)) {
+            return true;
+        }
+        LatencyRecorder merged = new LatencyRecorder();
+        String environment = null;
+        for (int index = 1; index <= count; index++) {
+            List<BaselineRun> runs = new BaselineStore(latenciesFile(directory, index)).loadAll();
+            if (runs.isEmpty()) {
+                System.out.printf("Performance gate skipped: shard %d/%d recorded no latencies%n", index, count);
+                return true;
+            }
+            BaselineRun run = runs.get(runs.size() - 1);
+            environment = run.getEnvironment();
+            run.getHistograms().keySet().forEach(endpoint -> merged.add(endpoint, run.histogram(endpoint)));
+        }
+        Map<String, Histogram> current = new LinkedHashMap<>();
+        merged.summaries().keySet().forEach(endpoint -> current.put(endpoint, merged.histogram(endpoint)));
+
+        BaselineStore store = new BaselineStore(Paths.get(config.getString("perfBaselineFile", "perf-baseline/latency-baseline.jsonl")));
+        List<BaselineRun> history = store.load(environment);
+        RegressionGate gate = RegressionGate.fromConfig(config);
+        List<RegressionFinding> findings = gate.evaluate(current, history);
+        boolean passed = findings.stream().noneMatch(RegressionFinding::isRegression);
+        store.append(BaselineRun.of(environment, passed, current));
+
+        System.out.println("Performance baseline: " + history.size() + " previous runs of '" + environment + "' in " + store.getFile());
+        findings.forEach(finding -> System.out.println("  " + finding));
+        gate.leftOut(current, history).forEach((endpoint, reason) -> System.out.println("  not gated " + endpoint + ": " + reason));
+        if (findings.isEmpty()) {
+            System.out.println("Performance gate skipped: no endpoint had enough samples and baseline runs");
+        }
+        return passed;
+    }
+
+    // Where PerformanceRegressionTests leaves the shard's latencies
+    private static Path latenciesFile(Path directory, int index) {
+        return directory.resolve("latencies-" + index + ".jsonl");
+    }
+
+    private static List<String> command(String suite, int index, int count, String runId, Path directory) {
+        List<String> jvmArgs = new ArrayList<>();
+        String extraJvmArgs = System.getProperty("shard.jvmArgs", "").trim();
+        if (!extraJvmArgs.isEmpty()) {
+            jvmArgs.addAll(List.of(extraJvmArgs.split("\\s+")));
+        }
+        jvmArgs.add("-Dshard.index=" + index);
+        jvmArgs.add("-Dshard.count=" + count);
+        jvmArgs.add("-Dshard.runId=" + runId);
+        jvmArgs.add("-DallureReport=false");
+        jvmArgs.add("-DmetricsFile=" + directory.resolve("metrics-" + index + ".prom"));
+        jvmArgs.add("-DtestEventsFile=" + directory.resolve("test-events-" + index + ".jsonl"));
+        jvmArgs.add("-Dgs.perfShardFile=" + latenciesFile(directory, index));
+        return ChildJvm.command(jvmArgs, "org.testng.TestNG",
+                List.of("-d", directory.resolve("shard-" + index).toString(), suite));
+    }
+}
@@ -0,0 +1,75 @@
+package sharding;
+
+import org.testng.IMethodInstance;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the methods of a TestNG test that belong to this JVM's shard, planned from the recorded test durations
+ * Every shard plans the whole test on its own and keeps its part; classes in shardEveryShardClasses (such as the
+ * performance gate, which hands its shard's latencies to ShardRunner) run in every shard
+ */
+public final class ShardSelector {
+
+    private ShardSelector() {
+    }
+
+    public static List<IMethodInstance> select(List<IMethodInstance> methods, ITestContext context) {
+        Shard shard = Shard.current();
+        if (shard == null || shard.getCount() == 1) {
+            return methods;
+        }
+        ConfigSnapshot config = ConfigurationManager.current();
+        boolean byClass = "classes".equalsIgnoreCase(config.getString("shardBy", "methods").trim());
+        Set<String> everyShard = Arrays.stream(config.getString("shardEveryShardClasses", "").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+
+        Map<String, List<String>> testsByUnit = new TreeMap<>();
+        for (IMethodInstance method : methods) {
+            String className = method.getMethod().getRealClass().getName();
+            if (!everyShard.contains(className)) {
+                String test = testId(method.getMethod());
+                testsByUnit.computeIfAbsent(byClass ? className : test, unit -> new ArrayList<>()).add(test);
+            }
+        }
+        TestDurationStore store = new TestDurationStore(Paths.get(config.getString("shardHistoryFile", "perf-baseline/test-durations.jsonl")));
+        Map<String, Double> estimates = store.estimates(shard.getRunId(), config.getInt("shardHistoryWindow", 5));
+        ShardPlan plan = ShardPlanner.plan(ShardPlanner.weigh(testsByUnit, estimates), shard.getCount());
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            String className = method.getMethod().getRealClass().getName();
+            String unit = byClass ? className : testId(method.getMethod());
+            if (everyShard.contains(className) || plan.shardOf(unit) == shard.getIndex()) {
+                selected.add(method);
+            }
+        }
+        List<String> loads = new ArrayList<>();
+        for (int i = 1; i <= shard.getCount(); i++) {
+            loads.add(String.format("%.1fs", plan.getLoad(i) / 1000));
+        }
+        System.out.printf("Shard %s of '%s': %d of %d methods by %s, expected %.1fs of %.1fs (shards: %s, %d tests with history)%n",
+                shard, context.getName(), selected.size(), methods.size(), byClass ? "class" : "method",
+                plan.getLoad(shard.getIndex()) / 1000, plan.getTotalLoad() / 1000, String.join(" ", loads),
+                testsByUnit.values().stream().flatMap(List::stream).filter(estimates::containsKey).count());
+        return selected;
+    }
+
+    // Key of a test in the TestDurationStore
+    public static String testId(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+}
@@ -0,0 +1,84 @@
+package testCases.GoldenScentApiTests;
+
+import Base.BaseTest;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import io.restassured.builder.ResponseBuilder;
+import loadTesting.ArrivalProfile;
+import loadTesting.ArrivalRateEngine;
+import loadTesting.ArrivalRateReport;
+import loadTesting.CheckoutLoadScenario;
+import loadTesting.EndpointStats;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import performance.LatencySummary;
+import testCases.CommonMethods;
+import utils.JavaUtilities;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Feature("Golden Scent Checkout Load")
+public class ArrivalRateApiTests extends BaseTest {
+    // config.properties SLA key of every CheckoutLoadScenario call
+    private static final Map<String, String> SLA_KEYS = Map.of(
+            "getLoyaltyBalance", "loyaltyBalanceEndPoint",
+            "applyPoints", "applyPointsEndPoint",
+            "useWallet", "useWalletEndPoint",
+            "getWalletTransactions", "walletTransactionsEndPoint",
+            "triggerRefund", "refundTriggerEndPoint");
+
+    CommonMethods commonMethods = new CommonMethods();
+
+    @Test(description = "Checkout endpoints at a fixed arrival rate")
+    @Story("Checkout endpoints should meet their SLAs at the arrival rate they are defined for")
+    @Description("Send checkout requests on an open-model schedule and check the latency measured from the intended send time against the SLAs")
+    @Severity(SeverityLevel.NORMAL)
+    public void checkoutEndpoints_ArrivalRateWithinSla() throws IOException {
+        ArrivalProfile profile = ArrivalProfile.fromSystemProperties(20, 5);
+        ArrivalRateEngine engine = new ArrivalRateEngine(Integer.getInteger("load.maxInFlight", 64));
+        CheckoutLoadScenario.endpoints(commonMethods).forEach(engine::endpoint);
+        ArrivalRateReport report = engine.run(profile);
+        report.print();
+
+        Assert.assertEquals(report.getTotalRequests(), profile.getPlannedRequests(), "Requests sent");
+        for (EndpointStats stats : report.getEndpoints()) {
+            String endpoint = stats.getEndpoint();
+            Assert.assertEquals(stats.getTransportErrors(), 0L, "Transport errors on " + endpoint);
+            boolean serverErrors = stats.getStatusCodes().keySet().stream().anyMatch(code -> code >= 500);
+            Assert.assertFalse(serverErrors, "Server errors on " + endpoint + ": " + stats.getStatusCodes());
+            LatencySummary corrected = report.getCorrectedLatency(endpoint);
+            Assert.assertTrue(corrected.getP99() >= report.getUncorrectedLatency(endpoint).getP99(),
+                    "Latency from the intended send time cannot be below the latency from the actual send on " + endpoint);
+            long sla = JavaUtilities.getSlaMillis(SLA_KEYS.get(endpoint));
+            Assert.assertTrue(corrected.getP90() <= sla, String.format("%s p90 %.1fms at %.1f req/s exceeds the %dms SLA",
+                    endpoint, corrected.getP90(), report.getTargetRate(), sla));
+        }
+    }
+
+    @Test(description = "Coordinated omission is corrected when the service stalls")
+    @Story("A stall should show in the corrected tail latency even though every call after it was fast")
+    @Description("Drive a service that answers in 2ms but stalls once for 500ms, one call at a time, and compare corrected and uncorrected percentiles")
+    @Severity(SeverityLevel.NORMAL)
+    public void stalledService_CorrectedLatencyIncludesQueueing() {
+        AtomicInteger calls = new AtomicInteger();
+        ArrivalRateEngine engine = new ArrivalRateEngine(1).endpoint("stallingService", () -> {
+            Thread.sleep(calls.incrementAndGet() == 50 ? 500 : 2);
+            return new ResponseBuilder().setStatusCode(200).setBody("{}").build();
+        });
+        ArrivalRateReport report = engine.run(ArrivalProfile.constant(100, Duration.ofSeconds(2)));
+        report.print();
+
+        LatencySummary corrected = report.getCorrectedLatency("stallingService");
+        LatencySummary uncorrected = report.getUncorrectedLatency("stallingService");
+        Assert.assertEquals(report.getTotalRequests(), 200L, "Requests sent");
+        Assert.assertTrue(uncorrected.getP90() < 100, "Uncorrected p90 only sees the fast calls: " + uncorrected.getP90() + "ms");
+        Assert.assertTrue(corrected.getP90() > 200, "Corrected p90 includes the time queued behind the stall: " + corrected.getP90() + "ms");
+        Assert.assertTrue(corrected.getMax() >= 500, "Corrected max covers the stall: " + corrected.getMax() + "ms");
+    }
+}
@@ -0,0 +1,161 @@
+package testCases.GoldenScentApiTests;
+
+import Base.BaseTest;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import io.restassured.response.Response;
+import loadTesting.ContentionHarness;
+import loadTesting.ContentionOutcome;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import testCases.CommonMethods;
+import utils.JsonMapper;
+import utils.TestDataRepository;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Double-spend checks: many identical spends of the same balance race each other, then the balances are read back
+ * Run with ContentionTestNg.xml; -Dcontention.requests sets the number of simultaneous requests (default 200)
+ * The wallet is restored afterwards, loyalty points cannot be and stay spent until the mock server restarts
+ */
+@Feature("Golden Scent Checkout Concurrency")
+public class ContentionApiTests extends BaseTest {
+    private static final double BIG_ORDER_TOTAL = 1_000_000;
+
+    CommonMethods commonMethods = new CommonMethods();
+    ContentionHarness harness = new ContentionHarness(Integer.getInteger("contention.requests", 200),
+            Long.getLong("contention.timeoutSeconds", 120));
+
+    @Test(priority = 1, description = "Use wallet - Simultaneous spends never overspend the balance")
+    @Story("Concurrent wallet payments should never spend more than the wallet holds")
+    @Description("Release many identical use-wallet calls at once and verify the balance moved by exactly the winning amounts")
+    @Severity(SeverityLevel.BLOCKER)
+    public void useWallet_SimultaneousSpends_NeverOverspend() throws Exception {
+        String orderId = createOrder(BIG_ORDER_TOTAL);
+        ObjectNode request = template("UseWalletRequest.json").put("orderId", orderId).put("orderTotal", BIG_ORDER_TOTAL);
+        double amount = request.path("walletAmount").asDouble();
+        double before = walletBalance();
+        if (before < amount) {
+            throw new SkipException("Wallet balance " + before + " is below one spend of " + amount);
+        }
+
+        String body = request.toString();
+        ContentionOutcome outcome = harness.fire("useWallet", () -> commonMethods.useWallet(body));
+        outcome.print();
+        double after = walletBalance();
+        double spent = outcome.getWinnerCount() * amount;
+        try {
+            assertNoOverspend(outcome, before, after, amount);
+        } finally {
+            // Put the money back through a refund of the same order
+            if (spent > 0) {
+                commonMethods.triggerRefund(template("RefundTriggerRequest.json").put("orderId", orderId)
+                        .put("refundAmount", spent).put("refundReason", "Contention test restore").toString());
+            }
+        }
+    }
+
+    @Test(priority = 2, description = "Apply points - Simultaneous redemptions never overspend the points")
+    @Story("Concurrent point redemptions should never redeem more points than the user has")
+    @Description("Release many identical apply-points calls at once and verify the points moved by exactly the winning amounts")
+    @Severity(SeverityLevel.BLOCKER)
+    public void applyPoints_SimultaneousRedemptions_NeverOverspend() throws Exception {
+        String orderId = createOrder(BIG_ORDER_TOTAL);
+        ObjectNode request = template("ApplyPointsRequest.json").put("orderId", orderId).put("orderTotal", BIG_ORDER_TOTAL);
+        double points = request.path("pointsToUse").asDouble();
+        double before = loyaltyPoints();
+        if (before < points) {
+            throw new SkipException("Loyalty points " + before + " are below one redemption of " + points);
+        }
+
+        String body = request.toString();
+        ContentionOutcome outcome = harness.fire("applyPoints", () -> commonMethods.applyPoints(body));
+        outcome.print();
+        assertNoOverspend(outcome, before, loyaltyPoints(), points);
+    }
+
+    @Test(priority = 3, description = "Trigger refund - Simultaneous refunds never exceed the order total")
+    @Story("Concurrent refunds of one order should never refund more than the order total")
+    @Description("Release many identical refund calls for one order at once and verify the wallet was credited at most the order total")
+    @Severity(SeverityLevel.BLOCKER)
+    public void triggerRefund_SimultaneousRefunds_NeverExceedOrderTotal() throws Exception {
+        ObjectNode order = template("CreateOrderRequest.json");
+        double orderTotal = order.path("total").asDouble();
+        String orderId = createOrder(orderTotal);
+        ObjectNode request = template("RefundTriggerRequest.json").put("orderId", orderId);
+        double amount = request.path("refundAmount").asDouble();
+        double before = walletBalance();
+
+        String body = request.toString();
+        ContentionOutcome outcome = harness.fire("triggerRefund", () -> commonMethods.triggerRefund(body));
+        outcome.print();
+        double credited = walletBalance() - before;
+        try {
+            Assert.assertTrue(outcome.getTransportErrors().isEmpty(), "Transport errors: " + outcome.getTransportErrors());
+            Assert.assertTrue(outcome.getWinnerCount() * amount <= orderTotal + 0.005, outcome.getWinnerCount()
+                    + " refunds of " + amount + " exceed the order total of " + orderTotal);
+            Assert.assertEquals(cents(credited), cents(outcome.getWinnerCount() * amount),
+                    "Wallet credit does not match the accepted refunds");
+            Assert.assertEquals(outcome.getWinnerCount(), (int) Math.min(harness.getRequests(), Math.floor(orderTotal / amount + 1e-9)),
+                    "Refunds were rejected although the order total allowed them");
+        } finally {
+            // Spend the credited amount again so the wallet is back where it was
+            if (cents(credited) > 0) {
+                String restoreOrder = createOrder(BIG_ORDER_TOTAL);
+                commonMethods.useWallet(template("UseWalletRequest.json").put("orderId", restoreOrder)
+                        .put("walletAmount", credited).put("orderTotal", BIG_ORDER_TOTAL).toString());
+            }
+        }
+    }
+
+    // Winners must account for the whole change, there must be as many as the balance allows,
+    // and each must have seen a different remaining balance, as if the spends had run one after the other
+    private void assertNoOverspend(ContentionOutcome outcome, double before, double after, double amount) {
+        int winners = outcome.getWinnerCount();
+        Assert.assertTrue(outcome.getTransportErrors().isEmpty(), "Transport errors: " + outcome.getTransportErrors());
+        Assert.assertTrue(winners * amount <= before + 0.005, winners + " spends of " + amount + " exceed the balance of " + before);
+        Assert.assertTrue(after >= 0, "Balance went negative: " + after);
+        Assert.assertEquals(cents(before - after), cents(winners * amount), "Balance change does not match the accepted spends");
+        Assert.assertEquals(winners, (int) Math.min(harness.getRequests(), Math.floor(before / amount + 1e-9)),
+                "Spends were rejected although the balance allowed them");
+
+        List<Long> remaining = outcome.getWinners().stream()
+                .map(response -> cents(response.jsonPath().getDouble("data.remainingBalance")))
+                .collect(Collectors.toList());
+        List<Long> expected = LongStream.rangeClosed(1, winners).map(k -> cents(before - k * amount)).boxed().collect(Collectors.toList());
+        Assert.assertEquals(new TreeSet<>(remaining), new TreeSet<>(expected), "Winners did not see one distinct remaining balance each");
+    }
+
+    private String createOrder(double total) throws IOException {
+        String orderId = "order_contention_" + System.nanoTime();
+        Response response = commonMethods.createOrder(template("CreateOrderRequest.json").put("orderId", orderId).put("total", total).toString());
+        Assert.assertEquals(response.getStatusCode(), 201, "Order could not be created");
+        return orderId;
+    }
+
+    private double walletBalance() throws IOException {
+        return commonMethods.getWalletBalance().jsonPath().getDouble("data.availableBalance");
+    }
+
+    private double loyaltyPoints() throws IOException {
+        return commonMethods.getLoyaltyBalance().jsonPath().getDouble("data.availablePoints");
+    }
+
+    private static ObjectNode template(String fileName) throws IOException {
+        return (ObjectNode) JsonMapper.mapper().readTree(TestDataRepository.json(fileName));
+    }
+
+    private static long cents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
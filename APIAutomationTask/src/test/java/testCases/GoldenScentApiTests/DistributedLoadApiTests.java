@@ -0,0 +1,78 @@
+package testCases.GoldenScentApiTests;
+
+import Base.BaseTest;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import loadTesting.EndpointStats;
+import loadTesting.LoadCoordinator;
+import loadTesting.LoadJob;
+import loadTesting.LoadProfile;
+import loadTesting.LoadReport;
+import loadTesting.LoadWorker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import utils.ConfigurationManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Feature("Golden Scent Checkout Load")
+public class DistributedLoadApiTests extends BaseTest {
+    private static final int WORKERS = 2;
+
+    @Test(description = "Checkout load split over coordinated workers")
+    @Story("A coordinator should split the virtual users over its workers, start them together and merge their results")
+    @Description("Run the checkout scenario on two socket workers and check the merged counters and histograms add up")
+    @Severity(SeverityLevel.NORMAL)
+    public void checkoutEndpoints_DistributedLoad() throws IOException, InterruptedException {
+        LoadProfile profile = LoadProfile.fromSystemProperties(40, 5, 1);
+        LoadJob job = new LoadJob(LoadJob.CHECKOUT, ConfigurationManager.current().getString("transport", "restassured"), profile);
+
+        List<LoadWorker> workers = new ArrayList<>();
+        List<Thread> serving = new ArrayList<>();
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        LoadReport report;
+        LoadCoordinator coordinator;
+        try {
+            for (int i = 0; i < WORKERS; i++) {
+                LoadWorker worker = new LoadWorker(0);
+                workers.add(worker);
+                addresses.add(new InetSocketAddress("localhost", worker.getPort()));
+                serving.add(Thread.ofPlatform().name("load-worker-" + i).start(() -> worker.serve(true)));
+            }
+            coordinator = new LoadCoordinator(addresses, Duration.ofMillis(200));
+            report = coordinator.run(job);
+        } finally {
+            for (LoadWorker worker : workers) {
+                worker.close();
+            }
+        }
+        for (Thread thread : serving) {
+            thread.join();
+        }
+        report.print();
+
+        List<LoadReport> workerReports = coordinator.getWorkerReports();
+        Assert.assertEquals(workerReports.size(), WORKERS, "Reports received from the workers");
+        Assert.assertEquals(workerReports.stream().mapToInt(worker -> worker.getProfile().getConcurrency()).sum(),
+                profile.getConcurrency(), "Virtual users split over the workers");
+        Assert.assertEquals(report.getTotalRequests(), workerReports.stream().mapToLong(LoadReport::getTotalRequests).sum(),
+                "Merged request count");
+        for (EndpointStats stats : report.getEndpoints()) {
+            String endpoint = stats.getEndpoint();
+            Assert.assertTrue(stats.getRequests() > 0, "No requests were sent to " + endpoint);
+            Assert.assertEquals(stats.getTransportErrors(), 0L, "Transport errors on " + endpoint);
+            boolean serverErrors = stats.getStatusCodes().keySet().stream().anyMatch(code -> code >= 500);
+            Assert.assertFalse(serverErrors, "Server errors on " + endpoint + ": " + stats.getStatusCodes());
+            long workerSamples = workerReports.stream().mapToLong(worker -> worker.getHistogram(endpoint).getTotalCount()).sum();
+            Assert.assertEquals(report.getHistogram(endpoint).getTotalCount(), workerSamples, "Merged latency samples of " + endpoint);
+            Assert.assertEquals(report.getHistogram(endpoint).getTotalCount(), stats.getRequests(), "Latency samples of " + endpoint);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package testCases.GoldenScentApiTests;
+
+import Base.BaseTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import fuzzing.FuzzEndpoint;
+import fuzzing.FuzzFailure;
+import fuzzing.FuzzOrders;
+import fuzzing.FuzzReport;
+import fuzzing.FuzzRunner;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import testCases.CommonMethods;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+/**
+ * Property-based fuzzing of the checkout payloads: randomized apply-points, use-wallet and refund requests are
+ * checked against CheckoutOracle, and every broken invariant is reported with its failing case shrunk
+ * Run with FuzzTestNg.xml; -Dfuzz.cases (default 2000 per endpoint), -Dfuzz.parallelism, -Dfuzz.seed and -Dfuzz.case
+ * (replays a single case of the seed); refunds run first and credit the wallet that the use-wallet cases then spend,
+ * and like the contention tests it spends loyalty points that stay spent until the mock server restarts
+ */
+@Feature("Golden Scent Checkout Fuzzing")
+public class FuzzApiTests extends BaseTest {
+
+    CommonMethods commonMethods = new CommonMethods();
+    long seed = Long.getLong("fuzz.seed", System.currentTimeMillis());
+    FuzzOrders orders = FuzzOrders.create(Long.toString(seed, 36) + "_" + Long.toString(System.nanoTime(), 36));
+    FuzzRunner runner = new FuzzRunner(commonMethods, orders, seed, Integer.getInteger("fuzz.parallelism", 16),
+            Integer.getInteger("fuzz.shrinkAttempts", 200));
+
+    @BeforeClass(alwaysRun = true)
+    public void createOrders() throws IOException {
+        for (int i = 0; i < orders.size(); i++) {
+            String body = JsonMapper.mapper().createObjectNode()
+                    .put("orderId", orders.id(i))
+                    .put("total", orders.total(i))
+                    .put("currency", "SAR")
+                    .toString();
+            Assert.assertEquals(commonMethods.createOrder(body).getStatusCode(), 201, "Order could not be created");
+        }
+    }
+
+    @Test(priority = 1, description = "Trigger refund - Randomized payloads hold the checkout invariants")
+    @Story("Refunds should reject every malformed or excessive payload and echo every accepted one")
+    @Description("Fuzz POST /refund/trigger with amounts around the order totals, missing fields and odd refund types/currencies")
+    @Severity(SeverityLevel.CRITICAL)
+    public void triggerRefund_RandomPayloads_HoldInvariants() throws IOException {
+        fuzz(FuzzEndpoint.REFUND_TRIGGER);
+    }
+
+    @Test(priority = 2, description = "Apply points - Randomized payloads hold the checkout invariants")
+    @Story("Apply points should reject every malformed or out-of-limit payload and add up on every accepted one")
+    @Description("Fuzz POST /checkout/apply-points with boundary amounts, max-percentage limits, missing fields and odd currencies/regions")
+    @Severity(SeverityLevel.CRITICAL)
+    public void applyPoints_RandomPayloads_HoldInvariants() throws IOException {
+        fuzz(FuzzEndpoint.APPLY_POINTS);
+    }
+
+    @Test(priority = 3, description = "Use wallet - Randomized payloads hold the checkout invariants")
+    @Story("Use wallet should reject every malformed or out-of-limit payload and add up on every accepted one")
+    @Description("Fuzz POST /checkout/use-wallet with threshold and order-total boundaries, missing fields and odd currencies/payment types")
+    @Severity(SeverityLevel.CRITICAL)
+    public void useWallet_RandomPayloads_HoldInvariants() throws IOException {
+        fuzz(FuzzEndpoint.USE_WALLET);
+    }
+
+    private void fuzz(FuzzEndpoint endpoint) throws IOException {
+        Integer replay = Integer.getInteger("fuzz.case");
+        FuzzReport report = replay != null
+                ? runner.run(endpoint, replay, 1)
+                : runner.run(endpoint, 0, Integer.getInteger("fuzz.cases", 2000));
+        report.print();
+
+        Assert.assertEquals(report.getTransportErrors(), 0L, "Transport errors, first: " + report.getFirstTransportError());
+        Assert.assertTrue(report.getFailures().isEmpty(), "Broken invariants:" + System.lineSeparator()
+                + report.getFailures().stream().map(FuzzFailure::toString).collect(Collectors.joining(System.lineSeparator())));
+        // Whatever was accepted, the balances must still be real, non-negative numbers
+        assertBalance(commonMethods.getWalletBalance(), "availableBalance");
+        assertBalance(commonMethods.getLoyaltyBalance(), "availablePoints");
+    }
+
+    private static void assertBalance(Response response, String field) throws IOException {
+        JsonNode balance = JsonMapper.mapper().readTree(response.asByteArray()).path("data").path(field);
+        Assert.assertTrue(balance.isNumber() && Double.isFinite(balance.doubleValue()) && balance.doubleValue() >= 0,
+                field + " is no longer a non-negative number: " + balance);
+    }
+}
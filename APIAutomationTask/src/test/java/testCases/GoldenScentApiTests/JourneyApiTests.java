@@ -0,0 +1,147 @@
+package testCases.GoldenScentApiTests;
+
+import Base.BaseTest;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import loadTesting.CheckoutJourney;
+import loadTesting.EndpointStats;
+import loadTesting.Journey;
+import loadTesting.JourneyEngine;
+import loadTesting.JourneyReport;
+import loadTesting.LoadProfile;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import performance.LatencySummary;
+import testCases.CommonMethods;
+import utils.JavaUtilities;
+import utils.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Feature("Golden Scent Checkout Load")
+public class JourneyApiTests extends BaseTest {
+    // config.properties SLA key of every CheckoutJourney step
+    private static final Map<String, String> SLA_KEYS = Map.of(
+            "createOrder", "ordersEndPoint",
+            "applyPoints", "applyPointsEndPoint",
+            "useWallet", "useWalletEndPoint",
+            "triggerRefund", "refundTriggerEndPoint");
+
+    // Added to the points and wallet balance for the run, enough for every wallet payment and points redemption
+    private static final double SEEDED_POINTS = 100_000;
+    private static final double SEEDED_WALLET = 100_000;
+
+    CommonMethods commonMethods = new CommonMethods();
+    boolean seeded;
+
+    // Earlier tests of the suite spend points and wallet balance, so the journey adds its own and takes them back after;
+    // relative adjustments keep what other tests or shards on the same server spent in the meantime
+    @BeforeClass(alwaysRun = true)
+    public void seedBalances() throws IOException {
+        Response response = adjustBalances(SEEDED_POINTS, SEEDED_WALLET);
+        Assert.assertEquals(response.getStatusCode(), 200, "Balances could not be seeded: " + response.asString());
+        seeded = true;
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void takeBackSeededBalances() throws IOException {
+        if (seeded) {
+            adjustBalances(-SEEDED_POINTS, -SEEDED_WALLET);
+        }
+    }
+
+    @Test(description = "Checkout journey under load")
+    @Story("Virtual users going through the whole checkout should get every step within its SLA")
+    @Description("Run create order, apply points, use wallet and refund as one journey per virtual user, with think times, and check the per-step metrics")
+    @Severity(SeverityLevel.NORMAL)
+    public void checkoutJourney_StepsWithinSla() throws IOException {
+        Journey checkout = CheckoutJourney.create(commonMethods,
+                Duration.ofMillis(Integer.getInteger("load.thinkTimeMinMillis", 20)),
+                Duration.ofMillis(Integer.getInteger("load.thinkTimeMaxMillis", 100)));
+        JourneyReport report = new JourneyEngine(checkout).run(LoadProfile.fromSystemProperties(4, 5, 1));
+        report.print();
+
+        Assert.assertTrue(report.getCompletedJourneys() > 0, "No checkout journey completed");
+        Assert.assertTrue(report.getStep("triggerRefund").getRequests() > 0, "No journey reached the refund");
+        // Points and wallet payments may still be refused if a long run spends the seeded balances; the order and the refund never may
+        Assert.assertEquals(report.getFailedJourneys(), 0L, "Failed journeys, steps: " + report.getSteps().stream()
+                .map(stats -> stats.getEndpoint() + "=" + stats.getStatusCodes()).toList());
+        for (EndpointStats stats : report.getSteps()) {
+            String step = stats.getEndpoint();
+            Assert.assertEquals(stats.getTransportErrors(), 0L, "Transport errors on " + step);
+            Assert.assertEquals(report.getCorrelationFailures(step), 0L, "Values missing from " + step + " responses");
+            boolean serverErrors = stats.getStatusCodes().keySet().stream().anyMatch(code -> code >= 500);
+            Assert.assertFalse(serverErrors, "Server errors on " + step + ": " + stats.getStatusCodes());
+            LatencySummary latency = report.getStepLatency(step);
+            long sla = JavaUtilities.getSlaMillis(SLA_KEYS.get(step));
+            Assert.assertTrue(latency.getP90() <= sla, String.format("%s p90 %.1fms exceeds the %dms SLA", step, latency.getP90(), sla));
+        }
+        // Refunds reference the journey's own order, so a wrongly correlated orderId would show up as a 404
+        Assert.assertEquals(report.getStep("triggerRefund").getErrors(), 0L,
+                "Refund errors: " + report.getStep("triggerRefund").getStatusCodes());
+    }
+
+    @Test(description = "Journey branches, think times and correlation")
+    @Story("Each virtual user should only ever see the values extracted in its own journey")
+    @Description("Drive a fake service through a journey with a weighted branch and check path shares, per-user correlation and think time accounting")
+    @Severity(SeverityLevel.NORMAL)
+    public void fakeService_JourneyCorrelatesPerVirtualUser() {
+        AtomicInteger mismatches = new AtomicInteger();
+        Journey journey = Journey.named("fakeCheckout")
+                .step("create", user -> respond("{\"data\": {\"orderId\": \"order_" + user.getId() + "_" + user.getIteration() + "\"}}"))
+                .extract("orderId", "data.orderId")
+                .step("pay", user -> respond("{\"data\": {\"transactionId\": \"txn_" + user.get("orderId") + "\"}}"))
+                .extract("transactionId", "data.transactionId")
+                .step("lookup", user -> respond("{\"data\": {}}"))
+                .extract("missing", "data.missing")
+                .optional()
+                .thinkTime(Duration.ofMillis(5))
+                .branch(Journey.weighted()
+                        .path(25, Journey.named("refund")
+                                .step("refund", user -> {
+                                    String expected = "txn_order_" + user.getId() + "_" + user.getIteration();
+                                    if (!expected.equals(user.get("transactionId")) || user.has("missing")) {
+                                        mismatches.incrementAndGet();
+                                    }
+                                    return respond("{}");
+                                }))
+                        .path(75, Journey.named("keep")));
+        JourneyReport report = new JourneyEngine(journey).seed(42).run(new LoadProfile(4, Duration.ofSeconds(2), Duration.ZERO));
+        report.print();
+
+        long journeys = report.getCompletedJourneys();
+        Assert.assertTrue(journeys > 100, "Journeys completed: " + journeys);
+        Assert.assertEquals(report.getFailedJourneys(), 0L, "Failed journeys");
+        Assert.assertEquals(mismatches.get(), 0, "Refunds that saw another journey's values");
+        Assert.assertEquals(report.getCorrelationFailures("lookup"), report.getStep("lookup").getRequests(),
+                "Every lookup lacks the value to extract");
+        double refundShare = (double) report.getPaths().get("refund") / (report.getPaths().get("refund") + report.getPaths().get("keep"));
+        Assert.assertEquals(refundShare, 0.25, 0.06, "Share of journeys taking the refund path");
+        // Journeys that took the refund path when the run ended never made the call
+        long refundsNotMade = report.getPaths().get("refund") - report.getStep("refund").getRequests();
+        Assert.assertTrue(refundsNotMade >= 0 && refundsNotMade <= report.getCutOffJourneys(), "Refund paths without a refund call: " + refundsNotMade);
+        Assert.assertTrue(report.getJourneyLatency().getP50() >= 5, "Journey latency includes the think time: " + report.getJourneyLatency().getP50() + "ms");
+        Assert.assertTrue(report.getStepLatency("pay").getP50() < 5, "Step latency leaves the think time out: " + report.getStepLatency("pay").getP50() + "ms");
+    }
+
+    private Response adjustBalances(double points, double wallet) throws IOException {
+        return commonMethods.setBalances(JsonMapper.mapper().createObjectNode()
+                .put("addPoints", points)
+                .put("addBalance", wallet)
+                .toString());
+    }
+
+    private static Response respond(String body) {
+        return new ResponseBuilder().setStatusCode(200).setContentType("application/json").setBody(body).build();
+    }
+}
@@ -0,0 +1,43 @@
+package testCases.GoldenScentApiTests;
+
+import Base.BaseTest;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import loadTesting.CheckoutLoadScenario;
+import loadTesting.EndpointStats;
+import loadTesting.LoadProfile;
+import loadTesting.LoadReport;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import testCases.CommonMethods;
+
+import java.io.IOException;
+
+@Feature("Golden Scent Checkout Load")
+public class LoadApiTests extends BaseTest {
+
+    CommonMethods commonMethods = new CommonMethods();
+
+    @Test(description = "Checkout endpoints under concurrent virtual users")
+    @Story("Loyalty, wallet and refund endpoints should keep serving requests at checkout-peak concurrency")
+    @Description("Drive the checkout endpoints from many virtual threads and report throughput and error rates per endpoint")
+    @Severity(SeverityLevel.NORMAL)
+    public void checkoutEndpoints_ConcurrentLoad() throws IOException {
+        LoadProfile profile = LoadProfile.fromSystemProperties(200, 10, 2);
+        LoadReport report = CheckoutLoadScenario.create(commonMethods).run(profile);
+        report.print();
+
+        for (EndpointStats stats : report.getEndpoints()) {
+            Assert.assertTrue(stats.getRequests() > 0, "No requests were sent to " + stats.getEndpoint());
+            Assert.assertEquals(stats.getTransportErrors(), 0L, "Transport errors on " + stats.getEndpoint());
+            boolean serverErrors = stats.getStatusCodes().keySet().stream().anyMatch(code -> code >= 500);
+            Assert.assertFalse(serverErrors, "Server errors on " + stats.getEndpoint() + ": " + stats.getStatusCodes());
+        }
+        // Every refund goes to an order with refund room left, so a rejected refund is a real failure, not the cap
+        EndpointStats refunds = report.getEndpoint("triggerRefund");
+        Assert.assertEquals(refunds.getErrors(), 0L, "Refund errors: " + refunds.getStatusCodes());
+    }
+}
@@ -0,0 +1,86 @@
+package testCases.GoldenScentApiTests;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import io.qameta.allure.Story;
+import metrics.EndpointMetrics;
+import metrics.MetricsRegistry;
+import mockServer.EmbeddedMockServer;
+import org.HdrHistogram.Histogram;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import performance.BaselineRun;
+import performance.BaselineStore;
+import performance.RegressionFinding;
+import performance.RegressionGate;
+import sharding.Shard;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Performance regression gate, listed last in the load suite so it sees the latencies of every test before it
+ * Each run is appended to the baseline store, and compared with the previous runs of the same suite,
+ * target, transport and perfBaselineTag (e.g. the load profile); in a sharded run ShardRunner gates the merged shards
+ */
+@Feature("Golden Scent Performance")
+public class PerformanceRegressionTests {
+
+    @Test(description = "Endpoint latencies - No regression against the baseline")
+    @Story("Loyalty and wallet endpoints should not get slower than in previous runs")
+    @Description("Compare this run's latency percentiles per endpoint with the runs in the local baseline store")
+    @Severity(SeverityLevel.CRITICAL)
+    public void endpointLatencies_NoRegressionAgainstBaseline(ITestContext context) {
+        ConfigSnapshot config = ConfigurationManager.current();
+        if (!config.getBoolean("perfGate", true)) {
+            throw new SkipException("Performance regression gate disabled (perfGate=false)");
+        }
+        String environment = context.getSuite().getName() + " | " + config.getBaseUrl() + (EmbeddedMockServer.isSharedRunning() ? " (embedded)" : "")
+                + " | " + config.getString("transport", "restassured");
+        String tag = config.getString("perfBaselineTag", "").trim();
+        if (!tag.isEmpty()) {
+            environment += " | " + tag;
+        }
+        // Only successful calls are gated: a run whose errors got faster or more frequent must not shift the baseline
+        Map<String, Histogram> current = new LinkedHashMap<>();
+        MetricsRegistry.global().endpoints().values()
+                .forEach(metrics -> current.put(metrics.seriesOf(EndpointMetrics.SUCCESS), metrics.histogram(EndpointMetrics.SUCCESS)));
+
+        // The methods of a shard change with the recorded durations, so a shard's latencies are not comparable from run
+        // to run: the shard hands them to ShardRunner, which gates the merged latencies of all shards
+        Shard shard = Shard.current();
+        if (shard != null && shard.getCount() > 1) {
+            BaselineStore shardStore = new BaselineStore(Paths.get(config.getString("perfShardFile",
+                    "target/shards/latencies-" + shard.getIndex() + ".jsonl")));
+            shardStore.append(BaselineRun.of(environment + " | " + shard.getCount() + " shards", true, current));
+            System.out.println("Shard " + shard + " latencies written to " + shardStore.getFile() + " for the gate over all shards");
+            return;
+        }
+
+        BaselineStore store = new BaselineStore(Paths.get(config.getString("perfBaselineFile", "perf-baseline/latency-baseline.jsonl")));
+        List<BaselineRun> history = store.load(environment);
+        RegressionGate gate = RegressionGate.fromConfig(config);
+        List<RegressionFinding> findings = gate.evaluate(current, history);
+        Map<String, String> leftOut = gate.leftOut(current, history);
+        List<RegressionFinding> regressions = findings.stream().filter(RegressionFinding::isRegression).collect(Collectors.toList());
+        store.append(BaselineRun.of(environment, regressions.isEmpty(), current));
+
+        System.out.println("Performance baseline: " + history.size() + " previous runs of '" + environment + "' in " + store.getFile());
+        findings.forEach(finding -> System.out.println("  " + finding));
+        leftOut.forEach((endpoint, reason) -> System.out.println("  not gated " + endpoint + ": " + reason));
+        if (findings.isEmpty()) {
+            throw new SkipException("No endpoint had enough samples and baseline runs to gate; left out: " + leftOut);
+        }
+        Assert.assertTrue(regressions.isEmpty(), "Latency regressions against the baseline:" + System.lineSeparator()
+                + regressions.stream().map(RegressionFinding::toString).collect(Collectors.joining(System.lineSeparator())));
+    }
+}
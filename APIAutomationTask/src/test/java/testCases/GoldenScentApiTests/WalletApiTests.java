@@ -2,9 +2,10 @@ package testCases.GoldenScentApiTests;
 
 import Base.BaseTest;
 import Responses.UseWalletResponse;
-import Responses.WalletTransactionsResponse;
 import Responses.RefundTriggerResponse;
+import Responses.WalletTransactionsResponse;
 import apiVerification.ApiVerification;
+import apiVerification.AssertionPlan;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -13,19 +14,24 @@ import io.qameta.allure.SeverityLevel;
 import io.restassured.RestAssured;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 import testCases.CommonMethods;
+import transport.ApiTransport;
+import transport.Transports;
 import utils.JavaUtilities;
+import utils.ResponseMapper;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.DoubleAdder;
 
 @Feature("Golden Scent Wallet API")
 public class WalletApiTests extends BaseTest {
 
     CommonMethods commonMethods = new CommonMethods();
-    UseWalletResponse useWalletResponse = new UseWalletResponse();
-    WalletTransactionsResponse walletTransactionsResponse = new WalletTransactionsResponse();
-    RefundTriggerResponse refundTriggerResponse = new RefundTriggerResponse();
     String testDataPath = "src/main/resources/testData/";
     String useWalletRequestBody = "UseWalletRequest.json";
     String refundTriggerRequestBody = "RefundTriggerRequest.json";
@@ -41,7 +47,7 @@ public class WalletApiTests extends BaseTest {
 
         // Verify using APIVerification class
         ApiVerification.verifyWalletResponse(response);
-        ApiVerification.verifyResponseTime(response, 2000);
+        ApiVerification.verifyResponseTimePercentile("GET", JavaUtilities.getWalletBalanceEndPoint(), 90.0, JavaUtilities.getSlaMillis("walletBalanceEndPoint"));
     }
 
     @Test(priority = 2, description = "Get wallet balance - Invalid token")
@@ -54,7 +60,6 @@ public class WalletApiTests extends BaseTest {
                 .spec(requestSpec)
                 .header("Authorization", "Bearer invalid_token")
                 .header("User-ID", "user_12345")
-                .log().all()
                 .when()
                 .get(JavaUtilities.getWalletBalanceEndPoint());
 
@@ -78,24 +83,21 @@ public class WalletApiTests extends BaseTest {
         JsonPath fileJsonPath = new JsonPath(useWalletJsonBody);
 
         Response response = commonMethods.useWallet(useWalletJsonBody);
-        JsonPath jsonPath = new JsonPath(response.getBody().asString());
-
-        // Set Response Data
-        useWalletResponse.setOrderId(jsonPath.getString("data.orderId"));
-        useWalletResponse.setWalletAmountUsed(jsonPath.getDouble("data.walletAmountUsed"));
-        useWalletResponse.setRemainingBalance(jsonPath.getDouble("data.remainingBalance"));
-        useWalletResponse.setUpdatedOrderTotal(jsonPath.getDouble("data.updatedOrderTotal"));
-        useWalletResponse.setCurrency(jsonPath.getString("data.currency"));
-        useWalletResponse.setTransactionId(jsonPath.getString("data.transactionId"));
-        useWalletResponse.setPaymentType(jsonPath.getString("data.paymentType"));
 
         // Verify using APIVerification class
-        ApiVerification.verifySuccessResponse(response);
-        ApiVerification.verifyFieldPresence(response, "data.orderId");
-        ApiVerification.verifyFieldPresence(response, "data.walletAmountUsed");
-        ApiVerification.verifyFieldPresence(response, "data.transactionId");
-        ApiVerification.verifyFieldValue(response, "data.orderId", fileJsonPath.getString("orderId"));
-        ApiVerification.verifyResponseTime(response, 3000);
+        AssertionPlan.builder("Use wallet response")
+                .include(ApiVerification.SUCCESS_PLAN)
+                .fieldPresent("data.orderId")
+                .fieldPresent("data.walletAmountUsed")
+                .fieldPresent("data.transactionId")
+                .fieldValue("data.orderId", fileJsonPath.getString("orderId"))
+                .build()
+                .verify(response);
+        UseWalletResponse useWalletResponse = ResponseMapper.readData(response.asByteArray(), UseWalletResponse.class);
+        Assert.assertEquals(useWalletResponse.getWalletAmountUsed(), fileJsonPath.getDouble("walletAmount"), 0.001, "Wallet amount used");
+        Assert.assertEquals(useWalletResponse.getUpdatedOrderTotal(), fileJsonPath.getDouble("orderTotal") - fileJsonPath.getDouble("walletAmount"),
+                0.001, "Order total after the wallet payment");
+        ApiVerification.verifyResponseTimePercentile("POST", JavaUtilities.getUseWalletEndPoint(), 90.0, JavaUtilities.getSlaMillis("useWalletEndPoint"));
     }
 
     @Test(priority = 4, description = "Use wallet balance during checkout - Insufficient balance")
@@ -188,12 +190,18 @@ public class WalletApiTests extends BaseTest {
         Response response = commonMethods.getWalletTransactions();
 
         // Verify using APIVerification class
-        ApiVerification.verifySuccessResponse(response);
-        ApiVerification.verifyFieldPresence(response, "data.userId");
-        ApiVerification.verifyFieldPresence(response, "data.transactions");
-        ApiVerification.verifyFieldPresence(response, "data.pagination");
-        ApiVerification.verifyFieldPresence(response, "data.currency");
-        ApiVerification.verifyResponseTime(response, 2000);
+        AssertionPlan.builder("Wallet transactions response")
+                .include(ApiVerification.SUCCESS_PLAN)
+                .fieldPresent("data.userId")
+                .fieldPresent("data.transactions")
+                .fieldPresent("data.pagination")
+                .fieldPresent("data.currency")
+                .build()
+                .verify(response);
+        WalletTransactionsResponse walletTransactionsResponse = ResponseMapper.readData(response.asByteArray(), WalletTransactionsResponse.class);
+        Assert.assertTrue(walletTransactionsResponse.getTransactions().size() <= walletTransactionsResponse.getPagination().getLimit(),
+                "More transactions returned than the page limit");
+        ApiVerification.verifyResponseTimePercentile("GET", JavaUtilities.getWalletTransactionsEndPoint(), 90.0, JavaUtilities.getSlaMillis("walletTransactionsEndPoint"));
     }
 
     @Test(priority = 8, description = "Get wallet transactions - With filters")
@@ -205,12 +213,37 @@ public class WalletApiTests extends BaseTest {
         Response response = commonMethods.getWalletTransactionsWithFilters("refund", 5, 0);
 
         // Verify using APIVerification class
-        ApiVerification.verifySuccessResponse(response);
-        ApiVerification.verifyFieldPresence(response, "data.transactions");
-        ApiVerification.verifyFieldPresence(response, "data.pagination");
+        AssertionPlan.builder("Filtered wallet transactions response")
+                .include(ApiVerification.SUCCESS_PLAN)
+                .fieldPresent("data.transactions")
+                .fieldPresent("data.pagination")
+                .build()
+                .verify(response);
+        int returned = ResponseMapper.forEachInDataArray(response.asInputStream(), "transactions", WalletTransactionsResponse.Transaction.class,
+                transaction -> Assert.assertEquals(transaction.getType(), "refund", "Transaction outside the type filter: " + transaction.getTransactionId()));
+        Assert.assertTrue(returned <= 5, "More transactions returned than the page limit: " + returned);
+    }
+
+    @Test(priority = 9, description = "Get wallet transactions - Large page streamed")
+    @Story("A large transaction page should be readable one transaction at a time")
+    @Description("Request a large page of GET /wallet/transactions and stream its transactions without binding the whole page")
+    @Severity(SeverityLevel.NORMAL)
+    public void getWalletTransactions_LargePageStreamed() throws IOException {
+        int limit = 1000;
+        Response response = commonMethods.getWalletTransactionsWithFilters(null, limit, 0);
+        ApiVerification.SUCCESS_PLAN.verify(response);
+
+        // Only the running totals are kept, however many transactions the page holds
+        DoubleAdder amount = new DoubleAdder();
+        int returned = ResponseMapper.forEachInDataArray(response.asInputStream(), "transactions", WalletTransactionsResponse.Transaction.class,
+                transaction -> amount.add(transaction.getAmount()));
+        JsonPath page = response.jsonPath();
+        Assert.assertEquals(returned, Math.min(page.getInt("data.pagination.total"), limit), "Transactions streamed");
+        Assert.assertEquals(amount.sum(), page.getList("data.transactions.amount", Double.class).stream().mapToDouble(Double::doubleValue).sum(),
+                0.001, "Sum of the streamed amounts");
     }
 
-    @Test(priority = 9, description = "Trigger refund to wallet - Valid refund")
+    @Test(priority = 10, description = "Trigger refund to wallet - Valid refund")
     @Story("System should be able to process refunds to wallet")
     @Description("Test POST /refund/trigger endpoint for valid refund to wallet")
     @Severity(SeverityLevel.CRITICAL)
@@ -226,26 +259,22 @@ public class WalletApiTests extends BaseTest {
         JsonPath fileJsonPath = new JsonPath(refundTriggerJsonBody);
 
         Response response = commonMethods.triggerRefund(refundTriggerJsonBody);
-        JsonPath jsonPath = new JsonPath(response.getBody().asString());
-
-        // Set Response Data
-        refundTriggerResponse.setRefundId(jsonPath.getString("data.refundId"));
-        refundTriggerResponse.setOrderId(jsonPath.getString("data.orderId"));
-        refundTriggerResponse.setRefundAmount(jsonPath.getDouble("data.refundAmount"));
-        refundTriggerResponse.setRefundType(jsonPath.getString("data.refundType"));
-        refundTriggerResponse.setStatus(jsonPath.getString("data.status"));
-        refundTriggerResponse.setCurrency(jsonPath.getString("data.currency"));
-        refundTriggerResponse.setProcessedAt(jsonPath.getString("data.processedAt"));
 
         // Verify using APIVerification class
-        ApiVerification.verifySuccessResponse(response);
-        ApiVerification.verifyFieldPresence(response, "data.refundId");
-        ApiVerification.verifyFieldPresence(response, "data.status");
-        ApiVerification.verifyFieldValue(response, "data.orderId", fileJsonPath.getString("orderId"));
-        ApiVerification.verifyResponseTime(response, 5000);
+        AssertionPlan.builder("Refund trigger response")
+                .include(ApiVerification.SUCCESS_PLAN)
+                .fieldPresent("data.refundId")
+                .fieldPresent("data.status")
+                .fieldValue("data.orderId", fileJsonPath.getString("orderId"))
+                .build()
+                .verify(response);
+        RefundTriggerResponse refundTriggerResponse = ResponseMapper.readData(response.asByteArray(), RefundTriggerResponse.class);
+        Assert.assertEquals(refundTriggerResponse.getRefundAmount(), fileJsonPath.getDouble("refundAmount"), 0.001, "Refund amount");
+        Assert.assertEquals(refundTriggerResponse.getRefundType(), fileJsonPath.getString("refundType"), "Refund type");
+        ApiVerification.verifyResponseTimePercentile("POST", JavaUtilities.getRefundTriggerEndPoint(), 90.0, JavaUtilities.getSlaMillis("refundTriggerEndPoint"));
     }
 
-    @Test(priority = 10, description = "Trigger refund to wallet - Invalid order")
+    @Test(priority = 11, description = "Trigger refund to wallet - Invalid order")
     @Story("System should not process refunds for invalid orders")
     @Description("Test POST /refund/trigger endpoint with invalid order ID")
     @Severity(SeverityLevel.NORMAL)
@@ -268,7 +297,7 @@ public class WalletApiTests extends BaseTest {
         ApiVerification.verifyErrorResponse(response, 404);
     }
 
-    @Test(priority = 11, description = "Trigger refund to wallet - Exceed order amount")
+    @Test(priority = 12, description = "Trigger refund to wallet - Exceed order amount")
     @Story("System should not process refunds exceeding order amount")
     @Description("Test POST /refund/trigger endpoint with refund amount exceeding order total")
     @Severity(SeverityLevel.NORMAL)
@@ -296,7 +325,7 @@ public class WalletApiTests extends BaseTest {
         ApiVerification.verifyErrorResponse(response, 400);
     }
 
-    @Test(priority = 12, description = "Health check - Server status")
+    @Test(priority = 13, description = "Health check - Server status")
     @Story("System should provide health check endpoint")
     @Description("Test GET /health endpoint for server status")
     @Severity(SeverityLevel.NORMAL)
@@ -305,8 +334,31 @@ public class WalletApiTests extends BaseTest {
         Response response = commonMethods.healthCheck();
 
         // Verify using APIVerification class
-        ApiVerification.verifySuccessResponse(response);
-        ApiVerification.verifyFieldPresence(response, "data.status");
-        ApiVerification.verifyResponseTime(response, 1000);
+        AssertionPlan.builder("Health check response")
+                .include(ApiVerification.SUCCESS_PLAN)
+                .fieldPresent("data.status")
+                .build()
+                .verify(response);
+        ApiVerification.verifyResponseTimePercentile("GET", JavaUtilities.getHealthEndPoint(), 90.0, JavaUtilities.getSlaMillis("healthEndPoint"));
+    }
+
+    @Test(priority = 14, description = "Get wallet balance - Concurrent async requests")
+    @Story("Wallet balance should be served correctly to many concurrent non-blocking requests")
+    @Description("Send concurrent GET /wallet/balance requests through the java.net.http transport without blocking a thread per call")
+    @Severity(SeverityLevel.NORMAL)
+    public void getWalletBalance_ConcurrentAsyncRequests() {
+        try (ApiTransport transport = Transports.create(Transports.HTTP_CLIENT)) {
+            CommonMethods asyncMethods = new CommonMethods(transport);
+            List<CompletableFuture<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                responses.add(asyncMethods.getWalletBalanceAsync());
+            }
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+
+            // Verify every response
+            for (CompletableFuture<Response> response : responses) {
+                ApiVerification.verifyWalletResponse(response.join());
+            }
+        }
     }
 }
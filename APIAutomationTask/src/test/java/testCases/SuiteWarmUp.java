@@ -0,0 +1,142 @@
+package testCases;
+
+import io.restassured.response.Response;
+import performance.LatencyStabilityWindow;
+import performance.WarmUp;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Calls every endpoint of config.properties before the suite's first test until its latency is stable, so connection
+ * setup, class loading and JIT are paid here and not by the first test of each class
+ * POST calls succeed on an order created for the warm-up, so the paths the tests measure get warm: the points and wallet
+ * balance are raised through the mock's balances helper first and adjusted back by what the warm-up spent and refunded.
+ * Without the helper POSTs use an order that does not exist and only warm the 404 path; each endpoint's log line
+ * lists the status codes it was warmed with
+ */
+public final class SuiteWarmUp {
+    private static final String ORDER = "order_warmup";
+    private static final String UNKNOWN_ORDER = "order_warmup_unknown";
+    // Smallest wallet payment the service accepts, paid and refunded per warm-up call
+    private static final double WALLET_AMOUNT = 10.0;
+
+    private SuiteWarmUp() {
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Response send() throws IOException;
+    }
+
+    public static void run() {
+        ConfigSnapshot config = ConfigurationManager.current();
+        if (!config.getBoolean("warmUp", true)) {
+            return;
+        }
+        int window = config.getInt("warmUpWindow", 10);
+        double maxCv = config.getDouble("warmUpMaxCv", 0.25);
+        int maxRequests = config.getInt("warmUpMaxRequests", 200);
+        long deadline = System.nanoTime() + config.getLong("warmUpTimeoutSeconds", 30) * 1_000_000_000L;
+
+        CommonMethods api = new CommonMethods();
+        Spent spent = new Spent(maxRequests, maxRequests * WALLET_AMOUNT);
+        boolean raised = false;
+        WarmUp.begin();
+        try {
+            raised = adjustBalances(api, spent.points, spent.wallet);
+            for (Map.Entry<String, Call> endpoint : calls(api, raised ? ORDER : UNKNOWN_ORDER).entrySet()) {
+                LatencyStabilityWindow latencies = new LatencyStabilityWindow(window, maxCv);
+                Map<Integer, Integer> statusCodes = new TreeMap<>();
+                int requests = 0;
+                while (!latencies.isStable() && requests < maxRequests && System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    Response response = endpoint.getValue().send();
+                    latencies.add(System.nanoTime() - start);
+                    statusCodes.merge(response.getStatusCode(), 1, Integer::sum);
+                    spent.record(endpoint.getKey(), response.getStatusCode());
+                    requests++;
+                }
+                System.out.printf("Warm-up %s: %s after %d requests (cv %.2f, mean %.2f ms, status %s)%n", endpoint.getKey(),
+                        latencies.isStable() ? "stable" : "not stable", requests, latencies.coefficientOfVariation(),
+                        latencies.meanMillis(), statusCodes);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Tests report an unreachable server themselves
+            System.err.println("Warm-up stopped: " + e.getMessage());
+        } finally {
+            if (raised) {
+                restoreBalances(api, spent);
+            }
+            WarmUp.end();
+        }
+    }
+
+    private static Map<String, Call> calls(CommonMethods api, String orderId) {
+        String checkout = "\"orderId\": \"" + orderId + "\", \"orderTotal\": 100.0, \"currency\": \"SAR\", \"region\": \"KSA\"";
+        Map<String, Call> calls = new LinkedHashMap<>();
+        calls.put("healthEndPoint", api::healthCheck);
+        // First, so the order exists for the checkout calls; re-creating it also clears its refunds, which are capped
+        // at a total sized for warmUpMaxRequests refunds
+        calls.put("ordersEndPoint", () -> api.createOrder("{\"orderId\": \"" + ORDER + "\", \"total\": 1000000.0, \"currency\": \"SAR\"}"));
+        calls.put("loyaltyBalanceEndPoint", api::getLoyaltyBalance);
+        calls.put("walletBalanceEndPoint", api::getWalletBalance);
+        calls.put("walletTransactionsEndPoint", api::getWalletTransactions);
+        calls.put("applyPointsEndPoint", () -> api.applyPoints("{" + checkout + ", \"pointsToUse\": 1}"));
+        calls.put("useWalletEndPoint", () -> api.useWallet("{" + checkout + ", \"walletAmount\": " + WALLET_AMOUNT + "}"));
+        calls.put("refundTriggerEndPoint", () -> api.triggerRefund("{\"orderId\": \"" + orderId
+                + "\", \"refundAmount\": " + WALLET_AMOUNT + ", \"refundReason\": \"warm-up\", \"refundType\": \"wallet\"}"));
+        return calls;
+    }
+
+    // Relative adjustments, so warm-ups of parallel shards sharing a server do not overwrite each other's balances
+    private static boolean adjustBalances(CommonMethods api, double points, double wallet) throws IOException {
+        return api.setBalances("{\"addPoints\": " + points + ", \"addBalance\": " + wallet + "}").getStatusCode() == 200;
+    }
+
+    private static void restoreBalances(CommonMethods api, Spent spent) {
+        try {
+            if (!adjustBalances(api, spent.pointsSpent - spent.points, spent.walletSpent - spent.wallet)) {
+                System.err.println("Warm-up could not restore the points and wallet balance");
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warm-up could not restore the points and wallet balance: " + e.getMessage());
+        }
+    }
+
+    // What the warm-up raised the balances by, and what its successful calls took from them (refunds count negative)
+    private static final class Spent {
+        private final double points;
+        private final double wallet;
+        private double pointsSpent;
+        private double walletSpent;
+
+        Spent(double points, double wallet) {
+            this.points = points;
+            this.wallet = wallet;
+        }
+
+        void record(String endpoint, int statusCode) {
+            if (statusCode != 200) {
+                return;
+            }
+            switch (endpoint) {
+                case "applyPointsEndPoint":
+                    pointsSpent += 1;
+                    break;
+                case "useWalletEndPoint":
+                    walletSpent += WALLET_AMOUNT;
+                    break;
+                case "refundTriggerEndPoint":
+                    walletSpent -= WALLET_AMOUNT;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
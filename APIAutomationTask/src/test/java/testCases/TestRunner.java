@@ -1,46 +1,56 @@
 package testCases;
 
-import java.io.BufferedReader;
+import org.testng.TestNG;
+import reporting.AllureReportGenerator;
+import reporting.AllureReportViewer;
+import utils.ConfigurationManager;
+
 import java.io.File;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 
 /**
  * Programmatic test runner for Golden Scent API tests
- * Provides methods to execute tests and generate reports programmatically
+ * Provides methods to execute tests and generate reports programmatically, on any OS
  */
 public class TestRunner {
     
+    public static void main(String[] args) {
+        if (args.length > 0 && "report".equals(args[0])) {
+            openReportOnly();
+        } else {
+            runTestsAndOpenReport();
+        }
+    }
+    
     public static void runTestsAndOpenReport() {
         try {
             System.out.println("Starting test execution and report generation...");
+            Instant start = Instant.now();
             
-            // Get the project root directory
+            // Run the suite in this JVM; the suite's listener must not generate the report this method writes below
             String projectRoot = System.getProperty("user.dir");
-            String batFile = projectRoot + File.separator + "runTestsAndReport.bat";
-            
-            // Check if batch file exists
-            File file = new File(batFile);
-            if (!file.exists()) {
-                System.err.println("Batch file not found: " + batFile);
-                return;
-            }
-            
-            // Execute the batch file
-            ProcessBuilder processBuilder = new ProcessBuilder("cmd.exe", "/c", batFile);
-            processBuilder.directory(new File(projectRoot));
-            
-            Process process = processBuilder.start();
-            
-            // Read output
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                System.out.println(line);
+            TestNG testNG = new TestNG();
+            testNG.setTestSuites(List.of(projectRoot + File.separator + "TestNg.xml"));
+            String allureReport = System.setProperty("allureReport", "false");
+            ConfigurationManager.reload();
+            try {
+                testNG.run();
+            } finally {
+                if (allureReport == null) {
+                    System.clearProperty("allureReport");
+                } else {
+                    System.setProperty("allureReport", allureReport);
+                }
+                ConfigurationManager.reload();
             }
+            System.out.println("Test execution completed with status: " + testNG.getStatus());
             
-            // Wait for process to complete
-            int exitCode = process.waitFor();
-            System.out.println("Process completed with exit code: " + exitCode);
+            // Report only the results written by this run
+            Path report = AllureReportGenerator.generate(AllureReportGenerator.resultsDirectory(),
+                    AllureReportGenerator.reportDirectory(), start);
+            AllureReportViewer.open(report);
             
         } catch (Exception e) {
             e.printStackTrace();
@@ -51,25 +61,9 @@ public class TestRunner {
         try {
             System.out.println("Opening Allure report...");
             
-            String projectRoot = System.getProperty("user.dir");
-            String batFile = projectRoot + File.separator + "reportGeneration.bat";
-            
-            File file = new File(batFile);
-            if (!file.exists()) {
-                System.err.println("Batch file not found: " + batFile);
-                return;
-            }
-            
-            ProcessBuilder processBuilder = new ProcessBuilder("cmd.exe", "/c", batFile);
-            processBuilder.directory(new File(projectRoot));
-            
-            Process process = processBuilder.start();
-            
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                System.out.println(line);
-            }
+            Path report = AllureReportGenerator.generate(AllureReportGenerator.resultsDirectory(),
+                    AllureReportGenerator.reportDirectory(), Instant.EPOCH);
+            AllureReportViewer.open(report);
             
         } catch (Exception e) {
             e.printStackTrace();
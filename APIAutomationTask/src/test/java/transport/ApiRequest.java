@@ -0,0 +1,73 @@
+package transport;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Transport-independent description of one API call
+ * Built fluently, e.g. ApiRequest.get("/wallet/balance").header("User-ID", "user_12345")
+ */
+public class ApiRequest {
+    private final String method;
+    private final String path;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final Map<String, Object> queryParams = new LinkedHashMap<>();
+    private String body;
+
+    private ApiRequest(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    public static ApiRequest get(String path) {
+        return new ApiRequest("GET", path);
+    }
+
+    public static ApiRequest post(String path) {
+        return new ApiRequest("POST", path);
+    }
+
+    public ApiRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    // A null value leaves the parameter out, so optional filters can be passed straight through
+    public ApiRequest queryParam(String name, Object value) {
+        if (value != null) {
+            queryParams.put(name, value);
+        }
+        return this;
+    }
+
+    public ApiRequest body(String body) {
+        this.body = body;
+        return this;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public Map<String, Object> getQueryParams() {
+        return Collections.unmodifiableMap(queryParams);
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
@@ -0,0 +1,45 @@
+package transport;
+
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Sends ApiRequests to the API under test
+ * Implementations complete the future with a RestAssured Response, so callers verify results the same way
+ * whichever transport sent the request
+ */
+public interface ApiTransport extends AutoCloseable {
+
+    CompletableFuture<Response> send(ApiRequest request);
+
+    /**
+     * Sends the request and waits for the response, rethrowing the failure that completed the future
+     */
+    default Response execute(ApiRequest request) {
+        try {
+            return send(request).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            if (cause instanceof IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            throw e;
+        }
+    }
+
+    String name();
+
+    @Override
+    default void close() {
+    }
+}
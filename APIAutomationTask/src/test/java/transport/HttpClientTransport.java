@@ -0,0 +1,154 @@
+package transport;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import logging.ExchangeLog;
+import logging.LogVerbosity;
+import logging.ResponseRegistry;
+import metrics.MetricsRegistry;
+import performance.LatencyRecorder;
+import performance.WarmUp;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Non-blocking ApiTransport on java.net.http.HttpClient
+ * No thread waits while a request is in flight; with HTTP/2 enabled concurrent requests are multiplexed over
+ * one connection, and servers without h2c support (like the mock servers) are spoken to over HTTP/1.1 instead
+ *
+ * RestAssured filters do not run here, so latencies go into the global LatencyRecorder and MetricsRegistry (except during
+ * warm-up), and exchanges and responses into the sender's ExchangeLog buffer and ResponseRegistry directly.
+ * Responses report no response time; use ApiVerification.verifyResponseTimePercentile instead.
+ */
+public class HttpClientTransport implements ApiTransport {
+    // Headers java.net.http sets itself and refuses to take from callers
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final String baseUrl;
+    private final Map<String, String> defaultHeaders;
+    private final Duration requestTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    public HttpClientTransport(String baseUrl, Map<String, String> defaultHeaders, boolean http2,
+                               Duration connectTimeout, Duration requestTimeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.defaultHeaders = new LinkedHashMap<>(defaultHeaders);
+        this.requestTimeout = requestTimeout;
+        this.client = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Response> send(ApiRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uriOf(request))
+                .timeout(requestTimeout)
+                .method(request.getMethod(), request.getBody() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(request.getBody()));
+        Map<String, String> headers = new LinkedHashMap<>(defaultHeaders);
+        headers.putAll(request.getHeaders());
+        headers.forEach((name, value) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                builder.header(name, value);
+            }
+        });
+
+        HttpRequest httpRequest = builder.build();
+        String endpoint = LatencyRecorder.key(request.getMethod(), request.getPath());
+        ExchangeLog.Buffer buffer = ExchangeLog.current();
+        ResponseRegistry.Slots responses = ResponseRegistry.current();
+        MetricsRegistry metrics = MetricsRegistry.global();
+        boolean measured = !WarmUp.isRunning();
+        String endpointKey = MetricsRegistry.endpointKey(request.getPath());
+        long requestBytes = request.getBody() == null ? 0 : request.getBody().getBytes(StandardCharsets.UTF_8).length;
+        long start = measured ? metrics.started(request.getMethod(), endpointKey, requestBytes) : System.nanoTime();
+        return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    if (!measured) {
+                        return;
+                    }
+                    if (error != null) {
+                        metrics.failed(request.getMethod(), endpointKey);
+                    } else {
+                        metrics.completed(request.getMethod(), endpointKey, start, response.statusCode(), response.body().length);
+                    }
+                })
+                .thenApply(response -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (measured) {
+                        LatencyRecorder.global().record(endpoint, elapsed);
+                    }
+                    Response restAssuredResponse = toResponse(response);
+                    responses.add(restAssuredResponse);
+                    if (ExchangeLog.verbosity() != LogVerbosity.NONE) {
+                        ExchangeLog.record(buffer, request.getMethod(), httpRequest.uri().toString(), () -> headers,
+                                request.getBody(), response.statusCode(), () -> firstValues(response.headers().map()),
+                                restAssuredResponse::asString, elapsed / 1_000_000);
+                    }
+                    return restAssuredResponse;
+                });
+    }
+
+    @Override
+    public String name() {
+        return client.version() == HttpClient.Version.HTTP_2 ? "httpclient-h2" : "httpclient";
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.shutdown();
+    }
+
+    private URI uriOf(ApiRequest request) {
+        StringBuilder uri = new StringBuilder(baseUrl).append(request.getPath());
+        char separator = request.getPath().contains("?") ? '&' : '?';
+        for (Map.Entry<String, Object> param : request.getQueryParams().entrySet()) {
+            uri.append(separator)
+                    .append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return URI.create(uri.toString());
+    }
+
+    private static Map<String, String> firstValues(Map<String, List<String>> headers) {
+        Map<String, String> values = new LinkedHashMap<>();
+        headers.forEach((name, list) -> values.put(name, String.join(", ", list)));
+        return values;
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> response) {
+        List<Header> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> values.forEach(value -> headers.add(new Header(name, value))));
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine((response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2 " : "HTTP/1.1 ") + response.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(response.body());
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+}
@@ -0,0 +1,57 @@
+package transport;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import logging.ExchangeLog;
+import logging.ResponseRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ApiTransport on top of a RestAssured request specification
+ * RestAssured blocks the calling thread, so asynchronous sends each run on their own virtual thread,
+ * recording into the sender's ExchangeLog buffer and ResponseRegistry
+ */
+public class RestAssuredTransport implements ApiTransport {
+    private final RequestSpecification requestSpec;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RestAssuredTransport(RequestSpecification requestSpec) {
+        this.requestSpec = requestSpec;
+    }
+
+    @Override
+    public CompletableFuture<Response> send(ApiRequest request) {
+        ExchangeLog.Buffer buffer = ExchangeLog.current();
+        ResponseRegistry.Slots responses = ResponseRegistry.current();
+        return CompletableFuture.supplyAsync(() -> ExchangeLog.runWith(buffer,
+                () -> ResponseRegistry.runWith(responses, () -> execute(request))), executor);
+    }
+
+    // Synchronous calls stay on the caller's thread instead of hopping to the executor
+    @Override
+    public Response execute(ApiRequest request) {
+        RequestSpecification spec = RestAssured.given()
+                .spec(requestSpec)
+                .headers(request.getHeaders())
+                .queryParams(request.getQueryParams());
+        if (request.getBody() != null) {
+            spec.body(request.getBody());
+        }
+        return spec.when()
+                .request(request.getMethod(), request.getPath());
+    }
+
+    @Override
+    public String name() {
+        return "restassured";
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
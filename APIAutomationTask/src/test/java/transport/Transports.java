@@ -0,0 +1,45 @@
+package transport;
+
+import Base.SpecRegistry;
+import apiConfig.HeaderConfig;
+import utils.ConfigSnapshot;
+import utils.ConfigurationManager;
+
+import java.time.Duration;
+
+/**
+ * Creates ApiTransports by name and holds the one shared by CommonMethods
+ * The shared transport is chosen with transport=restassured|httpclient in config.properties (or -Dtransport=...),
+ * and transportHttp2=true makes the httpclient transport negotiate HTTP/2
+ */
+public final class Transports {
+    public static final String REST_ASSURED = "restassured";
+    public static final String HTTP_CLIENT = "httpclient";
+
+    private Transports() {
+    }
+
+    public static ApiTransport shared() {
+        return Holder.SHARED;
+    }
+
+    public static ApiTransport create(String name) {
+        ConfigSnapshot config = ConfigurationManager.current();
+        switch (name) {
+            case REST_ASSURED:
+                return new RestAssuredTransport(SpecRegistry.requestSpec());
+            case HTTP_CLIENT:
+                return new HttpClientTransport(config.getBaseUrl(), new HeaderConfig().defaultHeaders(),
+                        config.getBoolean("transportHttp2", false),
+                        Duration.ofMillis(config.getConnectTimeoutMillis()),
+                        Duration.ofMillis(config.getReadTimeoutMillis()));
+            default:
+                throw new IllegalArgumentException("Unknown transport '" + name + "', expected "
+                        + REST_ASSURED + " or " + HTTP_CLIENT);
+        }
+    }
+
+    private static final class Holder {
+        private static final ApiTransport SHARED = create(ConfigurationManager.current().getString("transport", REST_ASSURED));
+    }
+}
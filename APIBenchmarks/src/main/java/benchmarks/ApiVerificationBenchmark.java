@@ -0,0 +1,52 @@
+package benchmarks;
+
+import apiVerification.ApiVerification;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the ApiVerification field checks run against every response in the tests
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiVerificationBenchmark {
+
+    private Response loyaltyBalance;
+    private Response applyPoints;
+
+    @Setup
+    public void setUp() {
+        loyaltyBalance = SampleResponses.response(SampleResponses.LOYALTY_BALANCE);
+        applyPoints = SampleResponses.response(SampleResponses.APPLY_POINTS);
+    }
+
+    @Benchmark
+    public void verifyFieldPresence() {
+        ApiVerification.verifyFieldPresence(loyaltyBalance, "data.availablePoints");
+    }
+
+    @Benchmark
+    public void verifyFieldValue() {
+        ApiVerification.verifyFieldValue(applyPoints, "data.orderId", "order_12345");
+    }
+
+    @Benchmark
+    public void verifyLoyaltyBalanceResponse() {
+        ApiVerification.verifyLoyaltyBalanceResponse(loyaltyBalance);
+    }
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import apiConfig.HeaderConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the header maps used by the request specifications
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeaderConfigBenchmark {
+
+    private final HeaderConfig headerConfig = new HeaderConfig();
+
+    @Benchmark
+    public Map<String, String> defaultHeaders() {
+        return headerConfig.defaultHeaders();
+    }
+
+    @Benchmark
+    public Map<String, String> defaultHeadersNoCharset() {
+        return headerConfig.defaultHeadersNoCharset();
+    }
+
+    @Benchmark
+    public Map<String, String> headersWithBearerToken() {
+        return headerConfig.headersWithBearerToken("valid_auth_token_12345");
+    }
+}
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.JavaUtilities;
+import utils.TestDataRepository;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading a request payload through JavaUtilities.jsonReader, as every test does, and from TestDataRepository
+ * Paths are relative to the APIAutomationTask module, so run the benchmarks from that directory
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonReaderBenchmark {
+
+    @Param({"CreateOrderRequest.json", "ApplyPointsRequest.json", "UseWalletRequest.json", "RefundTriggerRequest.json"})
+    public String testDataFile;
+
+    @Benchmark
+    public String jsonReader() throws IOException {
+        return JavaUtilities.jsonReader("src/main/resources/testData/" + testDataFile);
+    }
+
+    @Benchmark
+    public String testDataRepository() {
+        return TestDataRepository.json(testDataFile);
+    }
+}
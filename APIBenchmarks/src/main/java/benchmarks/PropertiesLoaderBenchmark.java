@@ -0,0 +1,35 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.JavaUtilities;
+import utils.PropertiesLoader;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of configuration lookups: a full PropertiesLoader.configFile() load versus a JavaUtilities getter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertiesLoaderBenchmark {
+
+    @Benchmark
+    public Map<String, String> configFile() {
+        return PropertiesLoader.configFile();
+    }
+
+    @Benchmark
+    public String endpointGetter() {
+        return JavaUtilities.getLoyaltyBalanceEndPoint();
+    }
+}
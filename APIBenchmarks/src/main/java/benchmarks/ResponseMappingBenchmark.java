@@ -0,0 +1,108 @@
+package benchmarks;
+
+import Responses.ApplyPointsResponse;
+import Responses.LoyaltyBalanceResponse;
+import Responses.UseWalletResponse;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.ResponseMapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of populating the Responses POJOs: the former JsonPath getter/setter mapping versus Jackson binding of the data envelope
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private Response loyaltyBalance;
+    private Response applyPoints;
+    private Response useWallet;
+
+    @Setup
+    public void setUp() {
+        loyaltyBalance = SampleResponses.response(SampleResponses.LOYALTY_BALANCE);
+        applyPoints = SampleResponses.response(SampleResponses.APPLY_POINTS);
+        useWallet = SampleResponses.response(SampleResponses.USE_WALLET);
+    }
+
+    @Benchmark
+    public LoyaltyBalanceResponse loyaltyBalance() {
+        JsonPath jsonPath = new JsonPath(loyaltyBalance.getBody().asString());
+        LoyaltyBalanceResponse response = new LoyaltyBalanceResponse();
+        if (jsonPath.get("data") != null) {
+            response.setUserId(jsonPath.getString("data.userId"));
+            response.setAvailablePoints(jsonPath.getInt("data.availablePoints"));
+            response.setTotalEarned(jsonPath.getInt("data.totalEarned"));
+            response.setTotalRedeemed(jsonPath.getInt("data.totalRedeemed"));
+            response.setExpiredPoints(jsonPath.getInt("data.expiredPoints"));
+            response.setLastUpdated(jsonPath.getString("data.lastUpdated"));
+            response.setPointsExpiringSoon(jsonPath.getInt("data.pointsExpiringSoon"));
+            response.setCurrency(jsonPath.getString("data.currency"));
+            response.setRegion(jsonPath.getString("data.region"));
+        }
+        return response;
+    }
+
+    @Benchmark
+    public ApplyPointsResponse applyPoints() {
+        JsonPath jsonPath = new JsonPath(applyPoints.getBody().asString());
+        ApplyPointsResponse response = new ApplyPointsResponse();
+        if (jsonPath.get("data") != null) {
+            response.setOrderId(jsonPath.getString("data.orderId"));
+            response.setPointsApplied(jsonPath.getInt("data.pointsApplied"));
+            response.setDiscountAmount(jsonPath.getDouble("data.discountAmount"));
+            response.setRemainingBalance(jsonPath.getInt("data.remainingBalance"));
+            response.setUpdatedOrderTotal(jsonPath.getDouble("data.updatedOrderTotal"));
+            response.setCurrency(jsonPath.getString("data.currency"));
+            response.setRegion(jsonPath.getString("data.region"));
+        }
+        return response;
+    }
+
+    @Benchmark
+    public UseWalletResponse useWallet() {
+        JsonPath jsonPath = new JsonPath(useWallet.getBody().asString());
+        UseWalletResponse response = new UseWalletResponse();
+        response.setOrderId(jsonPath.getString("data.orderId"));
+        response.setWalletAmountUsed(jsonPath.getDouble("data.walletAmountUsed"));
+        response.setRemainingBalance(jsonPath.getDouble("data.remainingBalance"));
+        response.setUpdatedOrderTotal(jsonPath.getDouble("data.updatedOrderTotal"));
+        response.setCurrency(jsonPath.getString("data.currency"));
+        response.setTransactionId(jsonPath.getString("data.transactionId"));
+        response.setPaymentType(jsonPath.getString("data.paymentType"));
+        return response;
+    }
+
+    @Benchmark
+    public LoyaltyBalanceResponse loyaltyBalanceJackson() throws IOException {
+        return ResponseMapper.readData(loyaltyBalance.asByteArray(), LoyaltyBalanceResponse.class);
+    }
+
+    @Benchmark
+    public ApplyPointsResponse applyPointsJackson() throws IOException {
+        return ResponseMapper.readData(applyPoints.asByteArray(), ApplyPointsResponse.class);
+    }
+
+    @Benchmark
+    public UseWalletResponse useWalletJackson() throws IOException {
+        return ResponseMapper.readData(useWallet.asByteArray(), UseWalletResponse.class);
+    }
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+/**
+ * Response bodies as returned by the mock server, used as benchmark input
+ * Responses are built in memory so the benchmarks measure framework code only
+ */
+public class SampleResponses {
+
+    public static final String LOYALTY_BALANCE = """
+            {"success":true,"data":{"userId":"user_12345","availablePoints":1500,"totalEarned":2500,"totalRedeemed":1000,\
+            "expiredPoints":0,"lastUpdated":"2024-12-15T10:30:00Z","pointsExpiringSoon":200,"currency":"SAR","region":"KSA"},\
+            "message":null,"timestamp":"2024-12-15T10:30:00Z"}""";
+
+    public static final String APPLY_POINTS = """
+            {"success":true,"data":{"orderId":"order_12345","pointsApplied":100,"discountAmount":10,"remainingBalance":1400,\
+            "updatedOrderTotal":289,"currency":"SAR","region":"KSA"},"message":null,"timestamp":"2024-12-15T10:30:00Z"}""";
+
+    public static final String USE_WALLET = """
+            {"success":true,"data":{"orderId":"order_12345","walletAmountUsed":50,"remainingBalance":200.5,"updatedOrderTotal":249,\
+            "currency":"SAR","transactionId":"txn_1734258600000","paymentType":"wallet"},"message":null,"timestamp":"2024-12-15T10:30:00Z"}""";
+
+    public static Response response(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+}